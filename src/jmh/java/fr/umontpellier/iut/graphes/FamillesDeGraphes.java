@@ -0,0 +1,127 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.Random;
+
+/**
+ * Graphes utilisés par les bancs d'essai : les familles particulières listées dans le README
+ * et des graphes aléatoires creux de grande taille
+ * <p>
+ * Tous les tirages aléatoires utilisent une graine fixe pour que deux exécutions mesurent
+ * exactement les mêmes graphes.
+ */
+final class FamillesDeGraphes {
+
+    private static final long GRAINE = 20220601L;
+
+    private FamillesDeGraphes() {
+    }
+
+    /**
+     * @param nom le nom d'une famille, éventuellement suivi de l'ordre du graphe ("cycle10", "aleatoire100000"...)
+     * @return le graphe correspondant
+     */
+    static Graphe creer(String nom) {
+        int i = 0;
+        while (i < nom.length() && !Character.isDigit(nom.charAt(i))) {
+            i++;
+        }
+        String famille = nom.substring(0, i);
+        int n = Integer.parseInt(nom.substring(i));
+        switch (famille) {
+            case "cycle":
+                return cycle(n);
+            case "complet":
+                return complet(n);
+            case "arbre":
+                return arbre(n);
+            case "eulerien":
+                return eulerien(n);
+            case "foret":
+                return foretAleatoire(n);
+            case "aleatoire":
+                return aleatoire(n, n + n / 2);
+            default:
+                throw new IllegalArgumentException("Famille de graphes inconnue : " + nom);
+        }
+    }
+
+    /**
+     * @return un cycle d'ordre n dont les arêtes ont des longueurs de 1 à 6
+     */
+    static Graphe cycle(int n) {
+        Graphe g = new Graphe(n);
+        for (int i = 0; i < n; i++) {
+            g.ajouterArete(i, (i + 1) % n, 1 + i % 6);
+        }
+        return g;
+    }
+
+    /**
+     * @return le graphe complet d'ordre n
+     */
+    static Graphe complet(int n) {
+        Graphe g = new Graphe(n);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                g.ajouterArete(i, j, 1 + (i + j) % 6);
+            }
+        }
+        return g;
+    }
+
+    /**
+     * @return un arbre aléatoire d'ordre n (chaque sommet est rattaché à un sommet précédent)
+     */
+    static Graphe arbre(int n) {
+        Random r = new Random(GRAINE);
+        Graphe g = new Graphe(n);
+        for (int v = 1; v < n; v++) {
+            g.ajouterArete(r.nextInt(v), v, 1 + r.nextInt(6));
+        }
+        return g;
+    }
+
+    /**
+     * @return un graphe eulérien d'ordre n : un cycle hamiltonien auquel on ajoute des cycles de longueur 3
+     * disjoints en arêtes, ce qui conserve la parité de tous les degrés
+     */
+    static Graphe eulerien(int n) {
+        Graphe g = cycle(n);
+        for (int i = 0; i + 4 < n; i += 3) {
+            g.ajouterArete(i, i + 2, 2);
+            g.ajouterArete(i + 2, i + 4, 3);
+            g.ajouterArete(i + 4, i, 4);
+        }
+        return g;
+    }
+
+    /**
+     * @return une forêt aléatoire d'ordre n (environ un sommet sur dix est une racine)
+     */
+    static Graphe foretAleatoire(int n) {
+        Random r = new Random(GRAINE);
+        Graphe g = new Graphe(n);
+        for (int v = 1; v < n; v++) {
+            if (r.nextInt(10) != 0) {
+                g.ajouterArete(r.nextInt(v), v, 1 + r.nextInt(6));
+            }
+        }
+        return g;
+    }
+
+    /**
+     * @return un graphe aléatoire creux d'ordre n ayant au plus m arêtes (les doublons sont ignorés)
+     */
+    static Graphe aleatoire(int n, int m) {
+        Random r = new Random(GRAINE);
+        Graphe g = new Graphe(n);
+        for (int k = 0; k < m; k++) {
+            int u = r.nextInt(n);
+            int v = r.nextInt(n);
+            if (u != v) {
+                g.ajouterArete(u, v, 1 + r.nextInt(6));
+            }
+        }
+        return g;
+    }
+}
@@ -0,0 +1,125 @@
+package fr.umontpellier.iut.graphes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bancs d'essai JMH des algorithmes de {@link Graphe}
+ * <p>
+ * Lancement (le profil {@code jmh} ajoute ce répertoire aux sources) :
+ * <pre>
+ * mvn -Pjmh package exec:exec -Djmh.args="GrapheBenchmark -prof gc"
+ * </pre>
+ * L'option {@code -prof gc} ajoute aux débits mesurés le taux d'allocation ({@code gc.alloc.rate.norm}
+ * donne le nombre d'octets alloués par appel).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrapheBenchmark {
+
+    /**
+     * Graphes sur lesquels on mesure les algorithmes linéaires (connexité, isthmes, parité, arbre)
+     */
+    @State(Scope.Thread)
+    public static class Structure {
+        @Param({"cycle10", "complet10", "complet21", "arbre10", "eulerien10",
+                "aleatoire1000", "foret100000", "aleatoire100000"})
+        public String famille;
+
+        Graphe graphe;
+        int u;
+        int v;
+        int poids;
+
+        @Setup(Level.Trial)
+        public void preparer() {
+            graphe = FamillesDeGraphes.creer(famille);
+            // on interroge toujours une arête existante : la première du sommet de plus petit indice non isolé
+            u = 0;
+            while (graphe.degre(u) == 0) {
+                u++;
+            }
+            v = graphe.voisin(u, 0);
+            poids = graphe.poids(u, v);
+        }
+
+        /**
+         * Supprime puis rajoute une arête : le graphe est inchangé, mais la suppression invalide les classes de
+         * connexité et l'analyse mises en cache, ce qui force leur calcul complet à chaque appel (réécrire
+         * l'arête avec la même longueur ne suffirait pas : un ajout garde l'union-find à jour)
+         */
+        void invalider() {
+            graphe.supprimerArete(u, v);
+            graphe.ajouterArete(u, v, poids);
+        }
+    }
+
+    /**
+     * Graphes sur lesquels la recherche exacte du plus long parcours termine en un temps raisonnable
+     * (le problème est NP-difficile : les graphes complets d'ordre pair ou les grands graphes aléatoires
+     * avec beaucoup de cycles sont hors de portée ; les arbres et les forêts, traités par un calcul de
+     * diamètre, restent linéaires)
+     */
+    @State(Scope.Thread)
+    public static class Chemins {
+        @Param({"cycle10", "complet21", "arbre10", "eulerien10", "arbre1000", "foret1000", "arbre100000",
+                "foret100000"})
+        public String famille;
+
+        Graphe graphe;
+
+        @Setup(Level.Trial)
+        public void preparer() {
+            graphe = FamillesDeGraphes.creer(famille);
+        }
+    }
+
+    @Benchmark
+    public ArrayList<ArrayList<Integer>> calculerClassesDeConnexite(Structure s) {
+        return s.graphe.calculerClassesDeConnexite();
+    }
+
+    @Benchmark
+    public boolean estUnIsthme(Structure s) {
+        s.invalider();
+        return s.graphe.estUnIsthme(s.u, s.v);
+    }
+
+    @Benchmark
+    public boolean estUnIsthmeAnalyseEnCache(Structure s) {
+        return s.graphe.estUnIsthme(s.u, s.v);
+    }
+
+    @Benchmark
+    public boolean existeParcoursEulerien(Structure s) {
+        s.invalider();
+        return s.graphe.existeParcoursEulerien();
+    }
+
+    @Benchmark
+    public boolean estUnArbre(Structure s) {
+        s.invalider();
+        return s.graphe.estUnArbre();
+    }
+
+    @Benchmark
+    public ArrayList<Integer> plusLongChemin(Chemins p) {
+        return p.graphe.plusLongChemin();
+    }
+}
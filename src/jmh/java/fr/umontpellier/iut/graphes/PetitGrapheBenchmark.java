@@ -0,0 +1,78 @@
+package fr.umontpellier.iut.graphes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare les requêtes de connexité de {@link PetitGraphe} à celles de {@link Graphe} sur des graphes
+ * de la taille d'un plateau (47 villes pour l'Europe)
+ * <pre>
+ * mvn -Pjmh package exec:exec -Djmh.args="PetitGrapheBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PetitGrapheBenchmark {
+
+    @Param({"arbre47", "foret47", "aleatoire47", "foret128"})
+    public String famille;
+
+    private Graphe graphe;
+    private PetitGraphe petit;
+    private int u;
+    private int v;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        graphe = FamillesDeGraphes.creer(famille);
+        petit = PetitGraphe.depuis(graphe);
+        u = 0;
+        v = graphe.nbSommets() - 1;
+    }
+
+    @Benchmark
+    public boolean sontConnectesGraphe() {
+        // parcours en largeur sur les listes d'adjacence, résultat rendu sous forme d'ArrayList
+        return graphe.calculerClasseDeConnexite(u).contains(v);
+    }
+
+    @Benchmark
+    public boolean sontConnectesPetitGraphe() {
+        return petit.sontConnectes(u, v);
+    }
+
+    @Benchmark
+    public int nbCCGraphe() {
+        return graphe.calculerClassesDeConnexite().size();
+    }
+
+    @Benchmark
+    public int nbCCPetitGraphe() {
+        return petit.nbCC();
+    }
+
+    @Benchmark
+    public int degresPetitGraphe() {
+        int s = 0;
+        for (int w = 0; w < petit.nbSommets(); w++) {
+            s += petit.degre(w);
+        }
+        return s;
+    }
+}
@@ -0,0 +1,43 @@
+package fr.umontpellier.iut.rails;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit des parties complètes simulées sans affichage (4 joueurs aléatoires), en parties par seconde
+ * <pre>
+ * mvn -Pjmh package exec:exec -Djmh.args="PartieSansAffichageBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PartieSansAffichageBenchmark {
+    private static final String[] NOMS = { "Guybrush", "Largo", "LeChuck", "Elaine" };
+
+    private long graine;
+
+    @Benchmark
+    public List<Integer> partieAleatoire() {
+        long g = graine++;
+        Jeu jeu = new Jeu(NOMS, g);
+        jeu.setStrategies(List.of(new StrategieAleatoire(4 * g), new StrategieAleatoire(4 * g + 1),
+                new StrategieAleatoire(4 * g + 2), new StrategieAleatoire(4 * g + 3)));
+        jeu.setNbToursMax(1000);
+        jeu.run();
+        return jeu.calculerLesScores();
+    }
+}
@@ -0,0 +1,103 @@
+package fr.umontpellier.iut.rails;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit du calcul en masse des scores, en parties par seconde, sur des parties terminées tirées au hasard
+ * (4 joueurs, 45 wagons, jusqu'à 3 gares et 3 à 5 destinations chacun)
+ * <pre>
+ * mvn -Pjmh package exec:exec -Djmh.args="ScoreurPartiesBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreurPartiesBenchmark {
+    private static final int NB_PARTIES = 1000;
+    private static final int NB_JOUEURS = 4;
+
+    private ScoreurParties scoreur;
+    private List<EtatFinal> parties;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        Plateau plateau = Plateau.makePlateauEurope();
+        scoreur = new ScoreurParties(plateau);
+        List<Destination> toutesDestinations = Destination.makeDestinationsEurope();
+        Random random = new Random(42);
+        parties = new ArrayList<>();
+        for (int p = 0; p < NB_PARTIES; p++) {
+            parties.add(tirerPartie(plateau, toutesDestinations, random));
+        }
+    }
+
+    private static EtatFinal tirerPartie(Plateau plateau, List<Destination> toutesDestinations, Random random) {
+        List<Integer> ordre = new ArrayList<>();
+        for (int r = 0; r < plateau.getRoutes().size(); r++) {
+            ordre.add(r);
+        }
+        Collections.shuffle(ordre, random);
+        List<List<Integer>> routes = new ArrayList<>();
+        int[] wagons = new int[NB_JOUEURS];
+        for (int j = 0; j < NB_JOUEURS; j++) {
+            routes.add(new ArrayList<>());
+        }
+        int j = 0;
+        for (int r : ordre) {
+            int longueur = plateau.getRoutes().get(r).getLongueur();
+            if (wagons[j] + longueur <= 45) {
+                routes.get(j).add(r);
+                wagons[j] += longueur;
+            }
+            j = (j + 1) % NB_JOUEURS;
+        }
+        List<EtatFinal.EtatJoueur> joueurs = new ArrayList<>();
+        for (j = 0; j < NB_JOUEURS; j++) {
+            int nbGares = random.nextInt(4);
+            int[] gares = random.ints(0, plateau.getVilles().size()).distinct().limit(nbGares).toArray();
+            List<Destination> destinations = new ArrayList<>();
+            for (int d = 3 + random.nextInt(3); d > 0; d--) {
+                destinations.add(toutesDestinations.get(random.nextInt(toutesDestinations.size())));
+            }
+            joueurs.add(new EtatFinal.EtatJoueur(routes.get(j).stream().mapToInt(Integer::intValue).toArray(),
+                    gares, destinations, 3 - nbGares));
+        }
+        return new EtatFinal(joueurs);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NB_PARTIES)
+    public List<int[]> scorerEnParallele() {
+        return scoreur.calculerScores(parties);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NB_PARTIES)
+    public int scorerSequentiellement() {
+        int total = 0;
+        for (EtatFinal partie : parties) {
+            total += scoreur.calculerScores(partie)[0];
+        }
+        return total;
+    }
+}
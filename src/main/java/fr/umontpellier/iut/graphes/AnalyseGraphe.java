@@ -0,0 +1,296 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Bilan structurel d'un graphe, calculé en un seul parcours en profondeur : classes de connexité,
+ * degrés et parité, forêt / arbre, isthmes, classes de 2-arête-connexité et points d'articulation
+ * <p>
+ * Une analyse est figée : elle décrit le graphe tel qu'il était lors de sa construction.
+ * {@code Graphe.analyser()} la conserve tant que le graphe n'est pas modifié.
+ */
+public class AnalyseGraphe {
+    /**
+     * Nombre de modifications du graphe au moment de l'analyse
+     */
+    private final int version;
+    private final int nbAretes;
+    private final int[] degres;
+    /**
+     * classes[v] est le numéro de la classe de connexité de v (dans l'ordre des plus petits sommets)
+     */
+    private final int[] classes;
+    private final int nbClasses;
+    /**
+     * Nombre de sommets, d'arêtes et de sommets impairs de chaque classe de connexité
+     */
+    private final int[] tailleClasse;
+    private final int[] nbAretesClasse;
+    private final int[] nbImpairsClasse;
+    private final int nbSommetsImpairs;
+    /**
+     * classesDeuxAretes[v] est le numéro de la classe de 2-arête-connexité de v
+     */
+    private final int[] classesDeuxAretes;
+    private final int nbClassesDeuxAretes;
+    /**
+     * Isthmes du graphe, sous la forme {u1, v1, u2, v2, ...}
+     */
+    private final int[] isthmes;
+    private final boolean[] articulation;
+
+    /**
+     * Analyse le graphe
+     * <p>
+     * Parcours en profondeur itératif (pour ne pas saturer la pile d'appels sur les grands graphes) :
+     * low[u] est le plus petit ordre de découverte accessible depuis le sous-arbre de u
+     * en empruntant au plus une arête arrière. L'arête (parent[u], u) est un isthme si low[u] > ordre[parent[u]],
+     * et parent[u] est un point d'articulation si low[u] >= ordre[parent[u]] (hors racine).
+     *
+     * @param g       le graphe à analyser
+     * @param version le nombre de modifications du graphe
+     */
+    AnalyseGraphe(Graphe g, int version) {
+        this.version = version;
+        int n = g.nbSommets();
+        nbAretes = g.nbAretes();
+        degres = new int[n];
+        classes = new int[n];
+        classesDeuxAretes = new int[n];
+        articulation = new boolean[n];
+        int[] ordre = new int[n];           // 0 = pas encore visité
+        int[] low = new int[n];
+        int[] parent = new int[n];
+        int[] areteParent = new int[n];     // identifiant de l'arête par laquelle le sommet a été découvert
+        int[] prochain = new int[n];        // indice du prochain voisin à examiner
+        int[] nbFils = new int[n];
+        int[] pile = new int[n];            // pile du parcours en profondeur
+        int[] pileClasse = new int[n];      // sommets dont la classe de 2-arête-connexité n'est pas encore fixée
+        int[] ponts = new int[2 * Math.max(0, n - 1)];
+        int[] tailles = new int[n];
+        int[] impairs = new int[n];
+        int nbPonts = 0;
+        int temps = 0;
+        int nbCC = 0;
+        int nbCC2 = 0;
+        int hauteurClasse = 0;
+        int totalImpairs = 0;
+        for (int s = 0; s < n; s++) {
+            if (ordre[s] != 0) {
+                continue;
+            }
+            int hauteur = 0;
+            pile[hauteur++] = s;
+            parent[s] = -1;
+            areteParent[s] = -1;
+            ordre[s] = low[s] = ++temps;
+            pileClasse[hauteurClasse++] = s;
+            while (hauteur > 0) {
+                int u = pile[hauteur - 1];
+                if (prochain[u] < g.degre(u)) {
+                    int k = prochain[u]++;
+                    int w = g.voisin(u, k);
+                    if (g.areteVoisin(u, k) == areteParent[u]) {
+                        // seule l'arête du parent est ignorée : une arête parallèle est une arête arrière
+                        continue;
+                    }
+                    if (ordre[w] == 0) {
+                        parent[w] = u;
+                        areteParent[w] = g.areteVoisin(u, k);
+                        nbFils[u]++;
+                        ordre[w] = low[w] = ++temps;
+                        pile[hauteur++] = w;
+                        pileClasse[hauteurClasse++] = w;
+                    } else if (ordre[w] < low[u]) {
+                        low[u] = ordre[w];
+                    }
+                } else {
+                    // u est terminé
+                    hauteur--;
+                    degres[u] = g.degre(u);
+                    classes[u] = nbCC;
+                    tailles[nbCC]++;
+                    if (degres[u] % 2 != 0) {
+                        impairs[nbCC]++;
+                        totalImpairs++;
+                    }
+                    int p = parent[u];
+                    if (p >= 0) {
+                        if (low[u] < low[p]) {
+                            low[p] = low[u];
+                        }
+                        if (low[u] > ordre[p]) {
+                            ponts[nbPonts++] = p;
+                            ponts[nbPonts++] = u;
+                        }
+                        if (low[u] >= ordre[p] && parent[p] >= 0) {
+                            articulation[p] = true;
+                        }
+                    } else if (nbFils[u] >= 2) {
+                        articulation[u] = true;
+                    }
+                    if (low[u] == ordre[u]) {
+                        // u est la racine d'une classe de 2-arête-connexité
+                        int x;
+                        do {
+                            x = pileClasse[--hauteurClasse];
+                            classesDeuxAretes[x] = nbCC2;
+                        } while (x != u);
+                        nbCC2++;
+                    }
+                }
+            }
+            nbCC++;
+        }
+        nbClasses = nbCC;
+        nbClassesDeuxAretes = nbCC2;
+        nbSommetsImpairs = totalImpairs;
+        tailleClasse = Arrays.copyOf(tailles, nbCC);
+        nbImpairsClasse = Arrays.copyOf(impairs, nbCC);
+        nbAretesClasse = new int[nbCC];
+        for (int v = 0; v < n; v++) {
+            nbAretesClasse[classes[v]] += degres[v];
+        }
+        for (int c = 0; c < nbCC; c++) {
+            nbAretesClasse[c] /= 2;
+        }
+        isthmes = Arrays.copyOf(ponts, nbPonts);
+    }
+
+    /**
+     * @return le nombre de modifications du graphe au moment de l'analyse
+     */
+    int getVersion() {
+        return version;
+    }
+
+    public int nbSommets() {
+        return degres.length;
+    }
+
+    public int nbAretes() {
+        return nbAretes;
+    }
+
+    public int degre(int v) {
+        return degres[v];
+    }
+
+    /**
+     * @return le nombre de sommets de degré impair
+     */
+    public int nbSommetsImpairs() {
+        return nbSommetsImpairs;
+    }
+
+    /**
+     * @return le nombre de classes de connexité
+     */
+    public int nbCC() {
+        return nbClasses;
+    }
+
+    /**
+     * @param v un entier représentant un sommet
+     * @return le numéro (entre 0 et nbCC() - 1) de la classe de connexité de v
+     */
+    public int classe(int v) {
+        return classes[v];
+    }
+
+    public boolean estConnexe() {
+        return nbClasses == 1;
+    }
+
+    /**
+     * @return vrai si le graphe est sans cycle
+     */
+    public boolean estUneForet() {
+        return nbAretes == degres.length - nbClasses;
+    }
+
+    public boolean estUnArbre() {
+        return estConnexe() && estUneForet();
+    }
+
+    /**
+     * @return vrai s'il existe un parcours eulérien dans le graphe (qui doit être connexe)
+     */
+    public boolean existeParcoursEulerien() {
+        return estConnexe() && (nbSommetsImpairs == 0 || nbSommetsImpairs == 2);
+    }
+
+    /**
+     * @param c le numéro d'une classe de connexité
+     * @return vrai s'il existe un parcours eulérien dans la classe c
+     */
+    public boolean classeEstEulerienne(int c) {
+        return nbImpairsClasse[c] <= 2;
+    }
+
+    /**
+     * @param c le numéro d'une classe de connexité
+     * @return vrai si la classe c est un arbre
+     */
+    public boolean classeEstUnArbre(int c) {
+        return nbAretesClasse[c] == tailleClasse[c] - 1;
+    }
+
+    /**
+     * @param c le numéro d'une classe de connexité
+     * @return le nombre d'arêtes de la classe c
+     */
+    public int nbAretesClasse(int c) {
+        return nbAretesClasse[c];
+    }
+
+    /**
+     * @param v un entier représentant un sommet
+     * @return le numéro de la classe de 2-arête-connexité de v
+     */
+    public int classeDeuxAretes(int v) {
+        return classesDeuxAretes[v];
+    }
+
+    /**
+     * @return le nombre de classes de 2-arête-connexité
+     */
+    public int nbClassesDeDeuxAreteConnexite() {
+        return nbClassesDeuxAretes;
+    }
+
+    /**
+     * @return la liste des isthmes, chacun donné par la liste de ses deux extrémités
+     */
+    public ArrayList<ArrayList<Integer>> getIsthmes() {
+        ArrayList<ArrayList<Integer>> res = new ArrayList<>();
+        for (int i = 0; i < isthmes.length; i += 2) {
+            ArrayList<Integer> isthme = new ArrayList<>();
+            isthme.add(isthmes[i]);
+            isthme.add(isthmes[i + 1]);
+            res.add(isthme);
+        }
+        return res;
+    }
+
+    /**
+     * @return vrai si la suppression de v (et de ses arêtes) augmente le nombre de classes de connexité
+     */
+    public boolean estPointDArticulation(int v) {
+        return articulation[v];
+    }
+
+    /**
+     * @return la liste des points d'articulation, par ordre croissant
+     */
+    public ArrayList<Integer> getPointsDArticulation() {
+        ArrayList<Integer> res = new ArrayList<>();
+        for (int v = 0; v < articulation.length; v++) {
+            if (articulation[v]) {
+                res.add(v);
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,58 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.ArrayList;
+
+/**
+ * Résultat des analyses menées sur une classe de connexité d'un graphe
+ */
+public class BilanComposante {
+    /**
+     * Sommets de la composante, par ordre croissant
+     */
+    private final ArrayList<Integer> sommets;
+    /**
+     * Nombre d'arêtes de la composante
+     */
+    private final int nbAretes;
+    /**
+     * Vrai s'il existe un parcours eulérien (ouvert ou fermé) dans la composante
+     */
+    private final boolean eulerienne;
+    /**
+     * Plus long parcours de la composante (qui ne repasse jamais par la même arête)
+     */
+    private final Parcours plusLongParcours;
+
+    public BilanComposante(ArrayList<Integer> sommets, int nbAretes, boolean eulerienne, Parcours plusLongParcours) {
+        this.sommets = sommets;
+        this.nbAretes = nbAretes;
+        this.eulerienne = eulerienne;
+        this.plusLongParcours = plusLongParcours;
+    }
+
+    public ArrayList<Integer> getSommets() {
+        return sommets;
+    }
+
+    public int getNbAretes() {
+        return nbAretes;
+    }
+
+    /**
+     * @return vrai s'il existe un parcours eulérien (ouvert ou fermé) dans la composante
+     */
+    public boolean estEulerienne() {
+        return eulerienne;
+    }
+
+    /**
+     * @return vrai si la composante est un arbre (connexe et sans cycle)
+     */
+    public boolean estUnArbre() {
+        return nbAretes == sommets.size() - 1;
+    }
+
+    public Parcours getPlusLongParcours() {
+        return plusLongParcours;
+    }
+}
@@ -0,0 +1,140 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache borné des plus longs parcours des composantes connexes déjà calculées par la recherche générale
+ * <p>
+ * Un graphe n'utilise un cache que si on le lui donne ({@link Graphe#setCacheParcours(CacheParcours)}) ;
+ * le même cache peut servir à plusieurs graphes, par exemple aux réseaux des joueurs d'une série de
+ * parties, et être partagé entre plusieurs fils de calcul.
+ * <p>
+ * Une composante est identifiée par sa forme canonique : la liste de ses arêtes, chacune codée par ses
+ * deux extrémités et sa longueur, triée dans cet ordre. Ce n'est pas un masque de bits des identifiants
+ * d'arêtes : ces identifiants sont attribués dans l'ordre d'ajout, propre à chaque graphe, si bien que
+ * deux réseaux formés des mêmes routes n'auraient pas le même masque. La forme canonique ne dépend ni de
+ * l'ordre d'ajout des arêtes ni de leurs identifiants, et elle n'impose aucune limite aux numéros de
+ * sommets ni aux longueurs. Le parcours est mémorisé par ses sommets et par le rang de ses arêtes dans la
+ * forme canonique, ce qui permet de le traduire dans les identifiants d'arêtes de n'importe quel graphe
+ * de même forme.
+ * <p>
+ * Les entrées les moins récemment utilisées sont évincées au-delà de la capacité.
+ */
+public class CacheParcours {
+    /**
+     * Capacité conseillée pour un cache partagé par les réseaux des joueurs d'une série de parties
+     */
+    public static final int CAPACITE_PAR_DEFAUT = 4096;
+
+    private final int capacite;
+    private final Map<Cle, Entree> entrees;
+    private final AtomicLong nbSucces = new AtomicLong();
+    private final AtomicLong nbEchecs = new AtomicLong();
+
+    /**
+     * Forme canonique d'une composante (arêtes codées et triées)
+     */
+    static final class Cle {
+        private final long[] aretes;
+        private final int hash;
+
+        Cle(long[] aretes) {
+            this.aretes = aretes;
+            this.hash = Arrays.hashCode(aretes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Cle && hash == ((Cle) o).hash && Arrays.equals(aretes, ((Cle) o).aretes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Plus long parcours d'une composante : ses sommets (numérotation du graphe) et les rangs de ses
+     * arêtes dans la forme canonique
+     */
+    static final class Entree {
+        final int[] sommets;
+        final int[] rangs;
+        final int longueur;
+
+        Entree(int[] sommets, int[] rangs, int longueur) {
+            this.sommets = sommets;
+            this.rangs = rangs;
+            this.longueur = longueur;
+        }
+    }
+
+    /**
+     * @param capacite nombre maximal de composantes mémorisées
+     */
+    public CacheParcours(int capacite) {
+        this.capacite = capacite;
+        this.entrees = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Cle, Entree> eldest) {
+                return size() > CacheParcours.this.capacite;
+            }
+        });
+    }
+
+    /**
+     * @return l'entrée de la composante (null si elle n'est pas dans le cache), en comptant le succès ou l'échec
+     */
+    Entree chercher(Cle cle) {
+        Entree entree = entrees.get(cle);
+        if (entree == null) {
+            nbEchecs.incrementAndGet();
+        } else {
+            nbSucces.incrementAndGet();
+        }
+        return entree;
+    }
+
+    void ajouter(Cle cle, Entree entree) {
+        entrees.put(cle, entree);
+    }
+
+    public int getCapacite() {
+        return capacite;
+    }
+
+    /**
+     * @return le nombre de composantes mémorisées
+     */
+    public int taille() {
+        return entrees.size();
+    }
+
+    /**
+     * @return le nombre de recherches qui ont trouvé la composante dans le cache
+     */
+    public long getNbSucces() {
+        return nbSucces.get();
+    }
+
+    /**
+     * @return le nombre de recherches qui n'ont pas trouvé la composante dans le cache
+     */
+    public long getNbEchecs() {
+        return nbEchecs.get();
+    }
+
+    /**
+     * Vide le cache et remet les compteurs à zéro
+     */
+    public void vider() {
+        entrees.clear();
+        nbSucces.set(0);
+        nbEchecs.set(0);
+    }
+}
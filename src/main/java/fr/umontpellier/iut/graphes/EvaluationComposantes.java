@@ -0,0 +1,73 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.ArrayList;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tâche fork/join qui analyse une tranche des classes de connexité d'un graphe
+ * <p>
+ * Les composantes étant indépendantes, la tranche est coupée en deux tant qu'elle contient plus
+ * de {@code SEUIL} arêtes ; en dessous, les composantes sont traitées séquentiellement.
+ * Le graphe ne doit pas être modifié pendant le calcul.
+ */
+class EvaluationComposantes extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Nombre d'arêtes en dessous duquel une tranche n'est plus découpée
+     */
+    static final int SEUIL = 64;
+
+    private final Graphe graphe;
+    /**
+     * Sommets de chaque composante
+     */
+    private final int[][] composantes;
+    /**
+     * nbAretesCumule[c] est le nombre d'arêtes des composantes 0 à c - 1
+     */
+    private final int[] nbAretesCumule;
+    /**
+     * Tableau (partagé) des résultats, rempli case par case par les sous-tâches
+     */
+    private final BilanComposante[] bilans;
+    private final int debut;
+    private final int fin;
+
+    EvaluationComposantes(Graphe graphe, int[][] composantes, int[] nbAretesCumule,
+                          BilanComposante[] bilans, int debut, int fin) {
+        this.graphe = graphe;
+        this.composantes = composantes;
+        this.nbAretesCumule = nbAretesCumule;
+        this.bilans = bilans;
+        this.debut = debut;
+        this.fin = fin;
+    }
+
+    @Override
+    protected void compute() {
+        if (fin - debut <= 1 || nbAretesCumule[fin] - nbAretesCumule[debut] <= SEUIL) {
+            for (int c = debut; c < fin; c++) {
+                bilans[c] = evaluer(composantes[c], nbAretesCumule[c + 1] - nbAretesCumule[c]);
+            }
+        } else {
+            int milieu = (debut + fin) >>> 1;
+            invokeAll(new EvaluationComposantes(graphe, composantes, nbAretesCumule, bilans, debut, milieu),
+                    new EvaluationComposantes(graphe, composantes, nbAretesCumule, bilans, milieu, fin));
+        }
+    }
+
+    /**
+     * Analyse une composante : parité des degrés, arbre et plus long parcours
+     */
+    private BilanComposante evaluer(int[] composante, int nbAretes) {
+        ArrayList<Integer> sommets = new ArrayList<>(composante.length);
+        int nbImpairs = 0;
+        for (int v : composante) {
+            sommets.add(v);
+            nbImpairs += graphe.degre(v) % 2;
+        }
+        Parcours p = nbAretes == 0 ? Parcours.vide() : new PlusLongParcours(graphe, composante).calculer();
+        return new BilanComposante(sommets, nbAretes, nbImpairs == 0 || nbImpairs == 2, p);
+    }
+}
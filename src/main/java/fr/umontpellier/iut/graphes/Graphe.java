@@ -2,45 +2,221 @@ package fr.umontpellier.iut.graphes;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
 
 public class Graphe {
+    /**
+     * Ordre au-delà duquel le constructeur {@code Graphe(int n)} choisit la représentation creuse
+     * (une matrice d'adjacence de 2048 x 2048 entiers occupe déjà 16 Mo)
+     */
+    public static final int ORDRE_MAX_MATRICE = 2048;
+
+    /**
+     * Liste d'adjacence vide partagée par tous les sommets isolés
+     */
+    private static final int[] AUCUN = new int[0];
+
     /**
      * matrice d'adjacence du graphe, un entier supérieur à 0 représentant la distance entre deux sommets
      * mat[i][i] = 0 pour tout i parce que le graphe n'a pas de boucle
+     * (vaut null si le graphe utilise uniquement la représentation creuse)
      */
     private final int[][] mat;
+    /**
+     * Vrai si le graphe peut avoir plusieurs arêtes entre deux mêmes sommets
+     */
+    private final boolean multigraphe;
+    /**
+     * listeVoisins[v][k] est le k-ième voisin de v, pour 0 <= k < degres[v]
+     * (les tableaux sont agrandis au besoin, les cases au-delà du degré sont inutilisées)
+     */
+    private final int[][] listeVoisins;
+    /**
+     * listePoids[v][k] est la longueur de l'arête entre v et listeVoisins[v][k]
+     */
+    private final int[][] listePoids;
+    /**
+     * listeAretes[v][k] est l'identifiant de l'arête entre v et listeVoisins[v][k]
+     */
+    private final int[][] listeAretes;
+    /**
+     * degres[v] est le nombre d'arêtes incidentes au sommet v
+     */
+    private final int[] degres;
+    /**
+     * Nombre d'arêtes du graphe
+     */
+    private int nbAretes;
+    /**
+     * extremites[2a] et extremites[2a + 1] sont les extrémités de l'arête d'identifiant a
+     * (-1 si l'arête a été supprimée : les identifiants ne sont réutilisés qu'après {@code vider()})
+     */
+    private int[] extremites = AUCUN;
+    /**
+     * poidsAretes[a] est la longueur de l'arête d'identifiant a
+     */
+    private int[] poidsAretes = AUCUN;
+    /**
+     * Nombre d'identifiants d'arêtes attribués (les identifiants vont de 0 à nbIdentifiants - 1)
+     */
+    private int nbIdentifiants;
+    /**
+     * Nombre de sommets de degré impair
+     */
+    private int nbSommetsImpairs;
+    /**
+     * Classes de connexité du graphe, mises à jour à chaque ajout d'arête
+     * (alloué à la première utilisation)
+     */
+    private UnionFind classes;
+    /**
+     * Faux si une arête a été supprimée depuis le dernier calcul de {@code classes}
+     * (la structure union-find ne sait pas séparer deux classes)
+     */
+    private boolean classesAJour = true;
+    /**
+     * Nombre de modifications (ajouts, suppressions, changements de longueur d'arêtes) subies par le graphe
+     */
+    private int nbModifications;
+    /**
+     * Dernière analyse structurelle calculée (à jour si sa version est égale à nbModifications)
+     */
+    private AnalyseGraphe analyse;
+    /**
+     * Cache dans lequel la recherche du plus long parcours mémorise ses résultats (null : pas de cache)
+     */
+    private CacheParcours cacheParcours;
 
     /**
      * Construit un graphe à n sommets
+     * La matrice d'adjacence n'est allouée que si n ne dépasse pas {@code ORDRE_MAX_MATRICE}
      *
      * @param n le nombre de sommets du graphe
      */
     public Graphe(int n) {
-        mat = new int[n][n];
+        this(n, n > ORDRE_MAX_MATRICE);
+    }
+
+    /**
+     * Construit un graphe à n sommets
+     *
+     * @param n     le nombre de sommets du graphe
+     * @param creux vrai pour n'utiliser que les listes d'adjacence (mémoire en O(n + m)),
+     *              faux pour maintenir en plus la matrice d'adjacence (test d'arête en O(1), mémoire en O(n²))
+     */
+    public Graphe(int n, boolean creux) {
+        this(n, creux, false);
+    }
+
+    private Graphe(int n, boolean creux, boolean multigraphe) {
+        this.multigraphe = multigraphe;
+        mat = creux ? null : new int[n][n];
+        listeVoisins = new int[n][];
+        listePoids = new int[n][];
+        listeAretes = new int[n][];
+        degres = new int[n];
         for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                mat[i][j] = 0;
-            }
+            listeVoisins[i] = AUCUN;
+            listePoids[i] = AUCUN;
+            listeAretes[i] = AUCUN;
         }
     }
 
+    /**
+     * Construit un multigraphe à n sommets : plusieurs arêtes peuvent relier les mêmes sommets
+     * (routes doubles, ferries parallèles...) et {@code ajouterArete} crée toujours une nouvelle arête.
+     * Un multigraphe utilise uniquement la représentation creuse.
+     *
+     * @param n le nombre de sommets du graphe
+     * @return un multigraphe sans arête
+     */
+    public static Graphe multigraphe(int n) {
+        return new Graphe(n, true, true);
+    }
+
     /**
      * @return le nombre de sommets
      */
     public int nbSommets() {
-        return mat.length;
+        return degres.length;
+    }
+
+    /**
+     * @return vrai si le graphe n'utilise pas de matrice d'adjacence
+     */
+    public boolean estCreux() {
+        return mat == null;
+    }
+
+    /**
+     * @return vrai si le graphe accepte plusieurs arêtes entre deux mêmes sommets
+     */
+    public boolean estMultigraphe() {
+        return multigraphe;
     }
 
     /**
      * Supprime l'arête entre les sommets i et j
+     * (dans un multigraphe, toutes les arêtes entre i et j sont supprimées)
      *
      * @param i un entier représentant un sommet
      * @param j un autre entier représentant un sommet
      */
     public void supprimerArete(int i, int j) {
-        mat[i][j] = 0;
-        mat[j][i] = 0;
+        int k;
+        while ((k = indiceVoisin(i, j)) >= 0) {
+            supprimerAreteParId(listeAretes[i][k]);
+        }
+    }
+
+    /**
+     * Supprime l'arête d'identifiant a (sans effet si elle a déjà été supprimée)
+     *
+     * @param a un identifiant d'arête
+     */
+    public void supprimerAreteParId(int a) {
+        if (!existeAreteParId(a)) {
+            return;
+        }
+        int i = extremites[2 * a];
+        int j = extremites[2 * a + 1];
+        retirerVoisin(i, indiceArete(i, a));
+        retirerVoisin(j, indiceArete(j, a));
+        extremites[2 * a] = -1;
+        extremites[2 * a + 1] = -1;
+        if (mat != null) {
+            mat[i][j] = 0;
+            mat[j][i] = 0;
+        }
+        nbAretes--;
+        classesAJour = false;
+        nbModifications++;
+    }
+
+    /**
+     * Retire toutes les arêtes du graphe en conservant la mémoire déjà allouée (listes d'adjacence, table
+     * des arêtes, union-find), pour réutiliser le même graphe d'un calcul à l'autre sans allocation.
+     * Les identifiants d'arêtes sont de nouveau attribués à partir de 0.
+     */
+    public void vider() {
+        for (int v = 0; v < degres.length; v++) {
+            if (mat != null) {
+                for (int k = 0; k < degres[v]; k++) {
+                    mat[v][listeVoisins[v][k]] = 0;
+                }
+            }
+            degres[v] = 0;
+        }
+        nbAretes = 0;
+        nbIdentifiants = 0;
+        nbSommetsImpairs = 0;
+        if (classes != null) {
+            classes.reinitialiser();
+            classesAJour = true;
+        }
+        nbModifications++;
     }
 
     /**
@@ -49,22 +225,56 @@ public class Graphe {
      * @param k la distance entre i et j (k>0)
      */
     public void ajouterArete(int i, int j, int k) {
-        mat[i][j] = k;
-        mat[j][i] = k;
+        if (k == 0) {
+            // une longueur nulle signifie l'absence d'arête (comme dans la matrice d'adjacence)
+            supprimerArete(i, j);
+            return;
+        }
+        creerArete(i, j, k);
+    }
+
+    /**
+     * Ajoute une arête de longueur k entre i et j et renvoie son identifiant
+     * <p>
+     * Dans un graphe simple, si i et j sont déjà voisins, seule la longueur de l'arête existante est
+     * modifiée et son identifiant est renvoyé. Dans un multigraphe, une nouvelle arête est toujours créée.
+     * L'identifiant d'une arête ne change pas tant qu'elle n'est pas supprimée.
+     *
+     * @param i un entier représentant un sommet
+     * @param j un autre entier représentant un sommet
+     * @param k la distance entre i et j (k>0)
+     * @return l'identifiant de l'arête
+     */
+    public int creerArete(int i, int j, int k) {
+        int a;
+        int ki = multigraphe ? -1 : indiceVoisin(i, j);
+        if (ki >= 0) {
+            // l'arête existe déjà : on met seulement à jour sa longueur
+            a = listeAretes[i][ki];
+            listePoids[i][ki] = k;
+            listePoids[j][indiceArete(j, a)] = k;
+        } else {
+            a = nouvelIdentifiant(i, j);
+            ajouterVoisin(i, j, k, a);
+            ajouterVoisin(j, i, k, a);
+            nbAretes++;
+            if (classes != null && classesAJour) {
+                classes.unir(i, j);
+            }
+        }
+        poidsAretes[a] = k;
+        if (mat != null) {
+            mat[i][j] = k;
+            mat[j][i] = k;
+        }
+        nbModifications++;
+        return a;
     }
 
     /*** 
      * @return le nombre d'arête du graphe
      */
     public int nbAretes() {
-        int nbAretes = 0;
-        for (int i = 0; i < mat.length; i++) {
-            for (int j = i + 1; j < mat.length; j++) {
-                if (mat[i][j] > 0) {
-                    nbAretes++;
-                }
-            }
-        }
         return nbAretes;
     }
 
@@ -74,11 +284,110 @@ public class Graphe {
      * @return vrai s'il existe une arête entre i et j, faux sinon
      */
     public boolean existeArete(int i, int j) {
-        boolean existe = false;
-        if (mat[i][j] != 0) {
-            existe = true;
+        if (mat != null) {
+            return mat[i][j] != 0;
         }
-        return existe;
+        return indiceVoisin(i, j) >= 0;
+    }
+
+    /**
+     * @param i un entier représentant un sommet
+     * @param j un autre entier représentant un sommet
+     * @return la longueur de l'arête entre i et j, ou 0 s'il n'y a pas d'arête
+     * (dans un multigraphe, la longueur de l'une des arêtes entre i et j)
+     */
+    public int poids(int i, int j) {
+        if (mat != null) {
+            return mat[i][j];
+        }
+        int k = indiceVoisin(i, j);
+        return k < 0 ? 0 : listePoids[i][k];
+    }
+
+    /**
+     * @return un majorant strict des identifiants d'arêtes attribués depuis la création du graphe
+     */
+    public int nbIdentifiantsAretes() {
+        return nbIdentifiants;
+    }
+
+    /**
+     * @param a un identifiant d'arête
+     * @return vrai si l'arête d'identifiant a existe (n'a pas été supprimée)
+     */
+    public boolean existeAreteParId(int a) {
+        return a >= 0 && a < nbIdentifiants && extremites[2 * a] >= 0;
+    }
+
+    /**
+     * @param a l'identifiant d'une arête existante
+     * @return la première extrémité de l'arête (le sommet i de {@code creerArete(i, j, k)})
+     */
+    public int extremite1(int a) {
+        return extremites[2 * a];
+    }
+
+    /**
+     * @param a l'identifiant d'une arête existante
+     * @return la seconde extrémité de l'arête (le sommet j de {@code creerArete(i, j, k)})
+     */
+    public int extremite2(int a) {
+        return extremites[2 * a + 1];
+    }
+
+    /**
+     * @param a l'identifiant d'une arête existante
+     * @return la longueur de l'arête
+     */
+    public int poidsArete(int a) {
+        return poidsAretes[a];
+    }
+
+    /**
+     * @param v un entier représentant un sommet du graphe
+     * @return le nombre d'arêtes incidentes à v (le nombre de voisins de v dans un graphe simple)
+     */
+    public int degre(int v) {
+        return degres[v];
+    }
+
+    /**
+     * @return le nombre de sommets de degré impair
+     */
+    public int nbSommetsImpairs() {
+        return nbSommetsImpairs;
+    }
+
+    /**
+     * Permet de parcourir les voisins d'un sommet sans allouer de liste :
+     * {@code for (int k = 0; k < g.degre(v); k++) { int u = g.voisin(v, k); ... }}
+     * <p>
+     * Attention : l'ordre des voisins n'est pas spécifié et change lorsqu'une arête est supprimée
+     *
+     * @param v un entier représentant un sommet du graphe
+     * @param k un indice compris entre 0 et degre(v) - 1
+     * @return le k-ième voisin de v
+     */
+    public int voisin(int v, int k) {
+        return listeVoisins[v][k];
+    }
+
+    /**
+     * @param v un entier représentant un sommet du graphe
+     * @param k un indice compris entre 0 et degre(v) - 1
+     * @return la longueur de l'arête entre v et son k-ième voisin
+     */
+    public int poidsVoisin(int v, int k) {
+        return listePoids[v][k];
+    }
+
+    /**
+     * @param v un entier représentant un sommet du graphe
+     * @param k un indice compris entre 0 et degre(v) - 1
+     * @return l'identifiant de l'arête entre v et son k-ième voisin
+     */
+    public int areteVoisin(int v, int k) {
+        return listeAretes[v][k];
     }
 
     /**
@@ -86,10 +395,13 @@ public class Graphe {
      * @return la liste des sommets voisins de v
      */
     public ArrayList<Integer> voisins(int v) {
-        ArrayList<Integer> voisin = new ArrayList<>();
-        for (int i = 0; i < mat.length; i++) {
-            if (mat[i][v] != 0) {
-                voisin.add(i);
+        int[] tries = Arrays.copyOf(listeVoisins[v], degres[v]);
+        Arrays.sort(tries);
+        ArrayList<Integer> voisin = new ArrayList<>(tries.length);
+        for (int i = 0; i < tries.length; i++) {
+            // dans un multigraphe, un voisin relié par plusieurs arêtes n'apparaît qu'une fois
+            if (i == 0 || tries[i] != tries[i - 1]) {
+                voisin.add(tries[i]);
             }
         }
         return voisin;
@@ -101,9 +413,13 @@ public class Graphe {
      */
     public String toString() {
         StringBuilder res = new StringBuilder("\n");
-        for (int[] ligne : mat) {
-            for (int j = 0; j < mat.length; j++) {
-                String x = String.valueOf(ligne[j]);
+        int[] ligne = new int[nbSommets()];
+        for (int i = 0; i < ligne.length; i++) {
+            Arrays.fill(ligne, 0);
+            for (int k = 0; k < degres[i]; k++) {
+                ligne[listeVoisins[i][k]] = listePoids[i][k];
+            }
+            for (int x : ligne) {
                 res.append(x);
             }
             res.append("\n");
@@ -111,6 +427,79 @@ public class Graphe {
         return res.toString();
     }
 
+    /**
+     * @return l'indice de j dans la liste d'adjacence de i, ou -1 si i et j ne sont pas voisins
+     */
+    private int indiceVoisin(int i, int j) {
+        if (mat != null && mat[i][j] == 0) {
+            return -1;
+        }
+        int[] voisinsI = listeVoisins[i];
+        for (int k = 0; k < degres[i]; k++) {
+            if (voisinsI[k] == j) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return l'indice de l'arête a dans la liste d'adjacence de i
+     */
+    private int indiceArete(int i, int a) {
+        int[] aretesI = listeAretes[i];
+        for (int k = 0; k < degres[i]; k++) {
+            if (aretesI[k] == a) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Attribue un nouvel identifiant à l'arête ij
+     */
+    private int nouvelIdentifiant(int i, int j) {
+        int a = nbIdentifiants++;
+        if (a == poidsAretes.length) {
+            int capacite = Math.max(8, 2 * a);
+            poidsAretes = Arrays.copyOf(poidsAretes, capacite);
+            extremites = Arrays.copyOf(extremites, 2 * capacite);
+        }
+        extremites[2 * a] = i;
+        extremites[2 * a + 1] = j;
+        return a;
+    }
+
+    /**
+     * Ajoute j à la fin de la liste d'adjacence de i (en agrandissant les tableaux si besoin)
+     */
+    private void ajouterVoisin(int i, int j, int k, int a) {
+        int d = degres[i];
+        if (d == listeVoisins[i].length) {
+            int capacite = Math.max(4, 2 * d);
+            listeVoisins[i] = Arrays.copyOf(listeVoisins[i], capacite);
+            listePoids[i] = Arrays.copyOf(listePoids[i], capacite);
+            listeAretes[i] = Arrays.copyOf(listeAretes[i], capacite);
+        }
+        listeVoisins[i][d] = j;
+        listePoids[i][d] = k;
+        listeAretes[i][d] = a;
+        degres[i] = d + 1;
+        nbSommetsImpairs += d % 2 == 0 ? 1 : -1;
+    }
+
+    /**
+     * Retire le k-ième voisin de i en le remplaçant par le dernier de la liste
+     */
+    private void retirerVoisin(int i, int k) {
+        int dernier = --degres[i];
+        listeVoisins[i][k] = listeVoisins[i][dernier];
+        listePoids[i][k] = listePoids[i][dernier];
+        listeAretes[i][k] = listeAretes[i][dernier];
+        nbSommetsImpairs += dernier % 2 == 0 ? -1 : 1;
+    }
+
     /**
      * Calcule la classe de connexité du sommet v
      *
@@ -118,46 +507,71 @@ public class Graphe {
      * @return une liste d'entiers représentant les sommets de la classe de connexité de v
      */
     public ArrayList<Integer> calculerClasseDeConnexite(int v) {
+        boolean[] vus = new boolean[nbSommets()];
         ArrayList<Integer> rouge = new ArrayList<>();
-        ArrayList<Integer> bleu = new ArrayList<>();
-        bleu.add(v);
-        while (!bleu.isEmpty()) {
-            ArrayList<Integer> voisin = voisins(bleu.get(0));
-            for (int i = 0; i < voisin.size(); i++) {
-                if (!bleu.contains(voisin.get(i)) && !rouge.contains(voisin.get(i))) {
-                    bleu.add(voisin.get(i));
+        vus[v] = true;
+        rouge.add(v);
+        // la liste sert elle-même de file : les sommets d'indice >= i restent à traiter
+        for (int i = 0; i < rouge.size(); i++) {
+            int u = rouge.get(i);
+            for (int k = 0; k < degres[u]; k++) {
+                int w = listeVoisins[u][k];
+                if (!vus[w]) {
+                    vus[w] = true;
+                    rouge.add(w);
                 }
             }
-            rouge.add(bleu.get(0));
-            bleu.remove(0);
         }
         return rouge;
     }
 
+    /**
+     * Numérote les classes de connexité par un parcours en largeur en O(n + m)
+     * <p>
+     * Les classes sont numérotées de 0 à nbCC() - 1 dans l'ordre de leur plus petit sommet
+     *
+     * @return un tableau t tel que t[v] est le numéro de la classe de connexité de v
+     */
+    public int[] calculerEtiquettesDeConnexite() {
+        int n = nbSommets();
+        int[] etiquettes = new int[n];
+        Arrays.fill(etiquettes, -1);
+        int[] file = new int[n];
+        int nbClasses = 0;
+        for (int s = 0; s < n; s++) {
+            if (etiquettes[s] >= 0) {
+                continue;
+            }
+            int debut = 0;
+            int fin = 0;
+            file[fin++] = s;
+            etiquettes[s] = nbClasses;
+            while (debut < fin) {
+                int u = file[debut++];
+                for (int k = 0; k < degres[u]; k++) {
+                    int w = listeVoisins[u][k];
+                    if (etiquettes[w] < 0) {
+                        etiquettes[w] = nbClasses;
+                        file[fin++] = w;
+                    }
+                }
+            }
+            nbClasses++;
+        }
+        return etiquettes;
+    }
+
     /**
      * @return la liste des classes de connexité du graphe
      */
     public ArrayList<ArrayList<Integer>> calculerClassesDeConnexite() {
-        boolean faitPartie;
+        int[] etiquettes = calculerEtiquettesDeConnexite();
         ArrayList<ArrayList<Integer>> cdc = new ArrayList<>();
-        ArrayList<Integer> classeTrouver;
-        for (int i = 0; i < mat.length; i++) {
-            faitPartie = false;
-            classeTrouver = calculerClasseDeConnexite(i);
-            if (cdc.isEmpty()) {
-                cdc.add(classeTrouver);
-            } else {
-                int j = 0;
-                while (j < cdc.size() & !faitPartie) {
-                    if (estPareil(cdc.get(j), classeTrouver)) {
-                        faitPartie = true;
-                    }
-                    j++;
-                }
-                if (!faitPartie) {
-                    cdc.add(classeTrouver);
-                }
+        for (int v = 0; v < etiquettes.length; v++) {
+            if (etiquettes[v] == cdc.size()) {
+                cdc.add(new ArrayList<>());
             }
+            cdc.get(etiquettes[v]).add(v);
         }
         return cdc;
     }
@@ -183,7 +597,37 @@ public class Graphe {
      * @return le nombre de classes de connexité
      */
     public int nbCC() {
-        return calculerClassesDeConnexite().size();
+        return classes().nbClasses();
+    }
+
+    /**
+     * @param u un entier représentant un sommet
+     * @param v un entier représentant un sommet
+     * @return vrai si u et v sont dans la même classe de connexité, faux sinon
+     */
+    public boolean sontConnectes(int u, int v) {
+        return classes().memeClasse(u, v);
+    }
+
+    /**
+     * @return la structure union-find des classes de connexité, recalculée en O(n + m)
+     * si une arête a été supprimée depuis le dernier calcul
+     */
+    private UnionFind classes() {
+        if (classes == null) {
+            classes = new UnionFind(nbSommets());
+            classesAJour = false;
+        }
+        if (!classesAJour) {
+            classes.reinitialiser();
+            for (int u = 0; u < nbSommets(); u++) {
+                for (int k = 0; k < degres[u]; k++) {
+                    classes.unir(u, listeVoisins[u][k]);
+                }
+            }
+            classesAJour = true;
+        }
+        return classes;
     }
 
     /**
@@ -192,16 +636,82 @@ public class Graphe {
      * @return vrai si (u,v) est un isthme, faux sinon
      */
     public boolean estUnIsthme(int u, int v) {
-        boolean estIsthme = false;
-        int nbCC = calculerClassesDeConnexite().size();
-        supprimerArete(u, v);
-        int nbCC2 = calculerClassesDeConnexite().size();
-        if (nbCC2 == nbCC + 1) {
-            estIsthme = true;
+        // une arête est un isthme si et seulement si elle relie deux classes de 2-arête-connexité différentes
+        AnalyseGraphe a = analyser();
+        return existeArete(u, v) && a.classeDeuxAretes(u) != a.classeDeuxAretes(v);
+    }
+
+    /**
+     * Calcule tous les isthmes du graphe en un seul parcours en profondeur (algorithme de Tarjan)
+     * <p>
+     * Le résultat est conservé jusqu'à la prochaine modification du graphe
+     *
+     * @return la liste des isthmes, chacun donné par la liste de ses deux extrémités
+     */
+    public ArrayList<ArrayList<Integer>> calculerIsthmes() {
+        return analyser().getIsthmes();
+    }
+
+    /**
+     * Deux sommets sont dans la même classe de 2-arête-connexité s'ils restent reliés
+     * après la suppression de n'importe quelle arête. Les classes sont séparées par les isthmes.
+     *
+     * @return la liste des classes de 2-arête-connexité du graphe
+     */
+    public ArrayList<ArrayList<Integer>> calculerClassesDeDeuxAreteConnexite() {
+        AnalyseGraphe a = analyser();
+        ArrayList<ArrayList<Integer>> classes = new ArrayList<>();
+        for (int c = 0; c < a.nbClassesDeDeuxAreteConnexite(); c++) {
+            classes.add(new ArrayList<>());
+        }
+        for (int v = 0; v < nbSommets(); v++) {
+            classes.get(a.classeDeuxAretes(v)).add(v);
         }
-        return estIsthme;
+        return classes;
+    }
+
+    /**
+     * Renvoie l'analyse structurelle du graphe (classes de connexité, parité des degrés, forêt,
+     * isthmes, points d'articulation), calculée en un seul parcours en O(n + m)
+     * <p>
+     * L'analyse est conservée et resservie tant que le graphe n'est pas modifié
+     *
+     * @return l'analyse du graphe dans son état actuel
+     */
+    public AnalyseGraphe analyser() {
+        AnalyseGraphe a = analyse;
+        if (a == null || a.getVersion() != nbModifications) {
+            a = new AnalyseGraphe(this, nbModifications);
+            analyse = a;
+        }
+        return a;
+    }
+
+    /**
+     * @return le nombre de modifications (ajouts, suppressions, changements de longueur d'arêtes)
+     * subies par le graphe depuis sa création
+     */
+    public int getNbModifications() {
+        return nbModifications;
+    }
+
+
+    /**
+     * @return le cache des plus longs parcours de composantes utilisé par ce graphe (null s'il n'en utilise pas)
+     */
+    public CacheParcours getCacheParcours() {
+        return cacheParcours;
     }
 
+    /**
+     * Fait mémoriser (et rechercher) les plus longs parcours des composantes du graphe dans un cache, qui
+     * peut être partagé par plusieurs graphes ; par défaut un graphe n'utilise aucun cache
+     *
+     * @param cacheParcours le cache à utiliser (null pour n'en utiliser aucun)
+     */
+    public void setCacheParcours(CacheParcours cacheParcours) {
+        this.cacheParcours = cacheParcours;
+    }
 
     /**
      * Calcule le plus long chemin présent dans le graphe
@@ -209,21 +719,109 @@ public class Graphe {
      * @return une liste de sommets formant le plus long chemin dans le graphe
      */
     public ArrayList<Integer> plusLongChemin() {
-        ArrayList<Integer> liste = new ArrayList<>();
-        if(this.estUnArbre()){
-            //dijstra
-        }
-        else if(this.existeParcoursEulerien()){
-            /*NOPE3
-            for(int i=0;i<mat.length;i++){
-                liste.add(i);
+        return calculerPlusLongParcours().getSommets();
+    }
+
+    /**
+     * Calcule un parcours de longueur maximale qui ne passe jamais deux fois par la même arête
+     * (recherche exacte dans chaque composante connexe, voir {@code PlusLongParcours})
+     *
+     * @return le plus long parcours du graphe, et sa longueur
+     */
+    public Parcours calculerPlusLongParcours() {
+        Parcours meilleur = Parcours.vide();
+        for (int[] composante : composantes()) {
+            int poidsTotal = 0;
+            for (int u : composante) {
+                for (int k = 0; k < degres[u]; k++) {
+                    poidsTotal += listePoids[u][k];
+                }
+            }
+            // une composante dont toutes les arêtes ne suffisent pas à battre le meilleur parcours est ignorée
+            if (poidsTotal / 2 > meilleur.getLongueur()) {
+                Parcours p = new PlusLongParcours(this, composante).calculer();
+                if (p.getLongueur() > meilleur.getLongueur()) {
+                    meilleur = p;
+                }
+            }
+        }
+        return meilleur;
+    }
+
+    /**
+     * Calcule le plus long parcours du graphe, éventuellement en traitant les composantes en parallèle
+     *
+     * @param parallele vrai pour répartir les composantes sur le {@code ForkJoinPool} commun
+     * @return le plus long parcours du graphe, et sa longueur
+     */
+    public Parcours calculerPlusLongParcours(boolean parallele) {
+        if (!parallele) {
+            return calculerPlusLongParcours();
+        }
+        Parcours meilleur = Parcours.vide();
+        for (BilanComposante bilan : evaluerComposantes(true)) {
+            if (bilan.getPlusLongParcours().getLongueur() > meilleur.getLongueur()) {
+                meilleur = bilan.getPlusLongParcours();
             }
-            */
         }
-        else{
+        return meilleur;
+    }
 
+    /**
+     * Analyse chaque classe de connexité du graphe : existence d'un parcours eulérien, arbre,
+     * plus long parcours
+     * <p>
+     * En mode parallèle, les composantes sont réparties sur le {@code ForkJoinPool} commun
+     * (voir {@code EvaluationComposantes}) ; le graphe ne doit pas être modifié pendant le calcul.
+     *
+     * @param parallele vrai pour traiter les composantes en parallèle
+     * @return un bilan par classe de connexité, dans l'ordre de leur plus petit sommet
+     */
+    public ArrayList<BilanComposante> evaluerComposantes(boolean parallele) {
+        int[][] composantes = composantes();
+        int[] nbAretesCumule = new int[composantes.length + 1];
+        for (int c = 0; c < composantes.length; c++) {
+            int somme = 0;
+            for (int u : composantes[c]) {
+                somme += degres[u];
+            }
+            nbAretesCumule[c + 1] = nbAretesCumule[c] + somme / 2;
+        }
+        BilanComposante[] bilans = new BilanComposante[composantes.length];
+        EvaluationComposantes tache = new EvaluationComposantes(this, composantes, nbAretesCumule, bilans,
+                0, composantes.length);
+        if (parallele) {
+            ForkJoinPool.commonPool().invoke(tache);
+        } else {
+            tache.compute();
+        }
+        return new ArrayList<>(Arrays.asList(bilans));
+    }
+
+    /**
+     * @return les sommets de chaque classe de connexité (par ordre croissant), les classes étant
+     * rangées dans l'ordre de leur plus petit sommet
+     */
+    private int[][] composantes() {
+        int[] etiquettes = calculerEtiquettesDeConnexite();
+        int nbClasses = 0;
+        for (int e : etiquettes) {
+            nbClasses = Math.max(nbClasses, e + 1);
+        }
+        int[] tailles = new int[nbClasses];
+        for (int e : etiquettes) {
+            tailles[e]++;
+        }
+        int[][] composantes = new int[nbClasses][];
+        for (int c = 0; c < nbClasses; c++) {
+            composantes[c] = new int[tailles[c]];
+            tailles[c] = 0;
+        }
+        for (int v = 0; v < etiquettes.length; v++) {
+            int c = etiquettes[v];
+            composantes[c][tailles[c]++] = v;
         }
-        return liste;
+        return composantes;
     }
 
 
@@ -231,27 +829,56 @@ public class Graphe {
      * @return vrai s'il existe un parcours eulérien dans le graphe, faux sinon
      */
     public boolean existeParcoursEulerien() {
-        boolean euler = false;
-        int nbImpair = 0;
-        if (this.estConnexe()) {
-            for (int i = 0; i < mat.length; i++) {
-                int deg = voisins(i).size();
-                if (deg % 2 != 0) {
-                    nbImpair++;
+        return (nbSommetsImpairs == 0 || nbSommetsImpairs == 2) && this.estConnexe();
+    }
+
+    /**
+     * Construit un parcours eulérien (ouvert ou fermé) en O(n + m) par l'algorithme de Hierholzer
+     * <p>
+     * Les sommets isolés sont ignorés : il suffit que toutes les arêtes soient dans la même classe de
+     * connexité et qu'il y ait 0 ou 2 sommets de degré impair. Le parcours est ouvert (et commence par le
+     * plus petit sommet impair) s'il y a deux sommets impairs, fermé sinon.
+     *
+     * @return la liste des sommets d'un parcours qui emprunte une et une seule fois chaque arête,
+     * ou une liste vide si un tel parcours n'existe pas (ou si le graphe n'a pas d'arête)
+     */
+    public ArrayList<Integer> calculerParcoursEulerien() {
+        if (nbAretes == 0 || nbSommetsImpairs > 2) {
+            return new ArrayList<>();
+        }
+        int[] avecAretes = null;
+        for (int[] composante : composantes()) {
+            if (composante.length > 1) {
+                if (avecAretes != null) {
+                    // les arêtes sont réparties dans plusieurs composantes
+                    return new ArrayList<>();
                 }
-            }
-            if (nbImpair == 2 | nbImpair == 0) {
-                euler = true;
+                avecAretes = composante;
             }
         }
-        return euler;
+        return new PlusLongParcours(this, avecAretes).parcoursEulerien().getSommets();
     }
 
     /**
      * @return vrai si le graphe est un arbre, faux sinon
      */
     public boolean estUnArbre() {
-        return this.estConnexe() & this.nbAretes() < this.nbSommets();
+        return this.estConnexe() && this.nbAretes() == this.nbSommets() - 1;
+    }
+
+    /**
+     * @return vrai si le graphe est une forêt (sans cycle), faux sinon
+     */
+    public boolean estUneForet() {
+        return this.nbAretes() == this.nbSommets() - this.nbCC();
+    }
+
+    /**
+     * @return la liste des points d'articulation du graphe (sommets dont la suppression
+     * augmente le nombre de classes de connexité)
+     */
+    public ArrayList<Integer> calculerPointsDArticulation() {
+        return analyser().getPointsDArticulation();
     }
 
 
@@ -259,13 +886,7 @@ public class Graphe {
      * @return vrai si le graphe est connexe, faux sinon
      */
     public boolean estConnexe() {
-        boolean connexe = true;
-        for (int i = 0; i < mat.length; i++) {
-            if (this.nbCC() != 1) {
-                connexe = false;
-            }
-        }
-        return connexe;
+        return this.nbCC() == 1;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.ArrayList;
+
+/**
+ * Parcours dans un graphe : suite de sommets consécutifs reliés par des arêtes, et longueur totale
+ * de ces arêtes
+ */
+public class Parcours {
+    /**
+     * Sommets du parcours, dans l'ordre (vide si le parcours n'emprunte aucune arête)
+     */
+    private final ArrayList<Integer> sommets;
+    /**
+     * Identifiants des arêtes empruntées, dans l'ordre (la i-ème relie les sommets i et i + 1)
+     */
+    private final ArrayList<Integer> aretes;
+    /**
+     * Somme des longueurs des arêtes empruntées
+     */
+    private final int longueur;
+
+    public Parcours(ArrayList<Integer> sommets, ArrayList<Integer> aretes, int longueur) {
+        this.sommets = sommets;
+        this.aretes = aretes;
+        this.longueur = longueur;
+    }
+
+    /**
+     * @return le parcours vide (aucune arête, longueur 0)
+     */
+    public static Parcours vide() {
+        return new Parcours(new ArrayList<>(), new ArrayList<>(), 0);
+    }
+
+    public ArrayList<Integer> getSommets() {
+        return sommets;
+    }
+
+    /**
+     * @return les identifiants des arêtes empruntées, dans l'ordre du parcours
+     */
+    public ArrayList<Integer> getAretes() {
+        return aretes;
+    }
+
+    public int getLongueur() {
+        return longueur;
+    }
+
+    /**
+     * @return le nombre d'arêtes empruntées par le parcours
+     */
+    public int nbAretes() {
+        return aretes.size();
+    }
+
+    @Override
+    public String toString() {
+        return sommets + " (" + longueur + ")";
+    }
+}
@@ -0,0 +1,345 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.ArrayList;
+
+/**
+ * Graphe non orienté d'au plus 128 sommets dont les voisinages sont des ensembles de bits
+ * <p>
+ * Le voisinage du sommet v est codé par deux mots de 64 bits : {@code bas[v]} pour les sommets 0 à 63
+ * et {@code haut[v]} pour les sommets 64 à 127. Le plateau Europe (47 villes) tient donc dans un seul mot
+ * par sommet. Les parcours en largeur et les calculs de connexité avancent par fronts entiers (une union
+ * de voisinages par sommet du front) et les degrés sont des {@link Long#bitCount}, sans aucune allocation.
+ * <p>
+ * Cette représentation est destinée aux simulations qui interrogent la connexité un très grand nombre de
+ * fois ; pour les autres algorithmes (isthmes, plus long parcours...) on passe par {@link #versGraphe()}.
+ */
+public class PetitGraphe {
+    /**
+     * Nombre maximal de sommets représentables
+     */
+    public static final int ORDRE_MAX = 128;
+
+    private final int n;
+    /**
+     * bas[v] : ensemble des voisins de v d'indice inférieur à 64
+     */
+    private final long[] bas;
+    /**
+     * haut[v] : ensemble des voisins de v d'indice compris entre 64 et 127
+     */
+    private final long[] haut;
+    /**
+     * poids[i * n + j] : longueur de l'arête entre i et j (0 s'il n'y en a pas)
+     */
+    private final int[] poids;
+    private int nbAretes;
+    /**
+     * Sommets atteints par le dernier parcours (mots de travail, pour ne rien allouer : les requêtes sur un
+     * même graphe ne doivent pas être faites depuis plusieurs fils à la fois)
+     */
+    private long atteintsBas;
+    private long atteintsHaut;
+
+    /**
+     * Construit un graphe vide à n sommets
+     *
+     * @param n le nombre de sommets (au plus {@link #ORDRE_MAX})
+     */
+    public PetitGraphe(int n) {
+        if (n < 0 || n > ORDRE_MAX) {
+            throw new IllegalArgumentException("Un PetitGraphe a au plus " + ORDRE_MAX + " sommets : " + n);
+        }
+        this.n = n;
+        bas = new long[n];
+        haut = new long[n];
+        poids = new int[n * n];
+    }
+
+    /**
+     * Copie un graphe d'au plus {@link #ORDRE_MAX} sommets
+     * (dans un multigraphe, deux sommets voisins sont reliés par l'arête la plus longue)
+     *
+     * @param g le graphe à copier
+     * @return le PetitGraphe ayant les mêmes arêtes que g
+     */
+    public static PetitGraphe depuis(Graphe g) {
+        PetitGraphe p = new PetitGraphe(g.nbSommets());
+        for (int u = 0; u < g.nbSommets(); u++) {
+            for (int k = 0; k < g.degre(u); k++) {
+                int v = g.voisin(u, k);
+                if (u < v && g.poidsVoisin(u, k) > p.poids(u, v)) {
+                    p.ajouterArete(u, v, g.poidsVoisin(u, k));
+                }
+            }
+        }
+        return p;
+    }
+
+    /**
+     * @return un Graphe ayant les mêmes sommets et les mêmes arêtes
+     */
+    public Graphe versGraphe() {
+        Graphe g = new Graphe(n);
+        for (int u = 0; u < n; u++) {
+            for (int v = u + 1; v < n; v++) {
+                if (poids[u * n + v] != 0) {
+                    g.ajouterArete(u, v, poids[u * n + v]);
+                }
+            }
+        }
+        return g;
+    }
+
+    public int nbSommets() {
+        return n;
+    }
+
+    public int nbAretes() {
+        return nbAretes;
+    }
+
+    /**
+     * Ajoute (ou remplace) l'arête de longueur k entre i et j ; une longueur nulle supprime l'arête
+     *
+     * @param i un entier représentant un sommet
+     * @param j un autre entier représentant un sommet
+     * @param k la distance entre i et j
+     */
+    public void ajouterArete(int i, int j, int k) {
+        if (k == 0) {
+            supprimerArete(i, j);
+            return;
+        }
+        if (poids[i * n + j] == 0) {
+            basculer(i, j);
+            nbAretes++;
+        }
+        poids[i * n + j] = k;
+        poids[j * n + i] = k;
+    }
+
+    /**
+     * Retire l'arête entre i et j si elle existe
+     */
+    public void supprimerArete(int i, int j) {
+        if (poids[i * n + j] != 0) {
+            basculer(i, j);
+            nbAretes--;
+            poids[i * n + j] = 0;
+            poids[j * n + i] = 0;
+        }
+    }
+
+    /**
+     * Inverse la présence de j dans le voisinage de i et de i dans celui de j
+     */
+    private void basculer(int i, int j) {
+        if (j < 64) {
+            bas[i] ^= 1L << j;
+        } else {
+            haut[i] ^= 1L << (j - 64);
+        }
+        if (i < 64) {
+            bas[j] ^= 1L << i;
+        } else {
+            haut[j] ^= 1L << (i - 64);
+        }
+    }
+
+    public boolean existeArete(int i, int j) {
+        return poids[i * n + j] != 0;
+    }
+
+    /**
+     * @return la longueur de l'arête entre i et j, 0 s'il n'y en a pas
+     */
+    public int poids(int i, int j) {
+        return poids[i * n + j];
+    }
+
+    public int degre(int v) {
+        return Long.bitCount(bas[v]) + Long.bitCount(haut[v]);
+    }
+
+    /**
+     * @return l'ensemble des voisins de v d'indice inférieur à 64
+     */
+    public long voisinsBas(int v) {
+        return bas[v];
+    }
+
+    /**
+     * @return l'ensemble des voisins de v d'indice compris entre 64 et 127
+     */
+    public long voisinsHaut(int v) {
+        return haut[v];
+    }
+
+    /**
+     * @return la liste croissante des voisins de v
+     */
+    public ArrayList<Integer> voisins(int v) {
+        ArrayList<Integer> l = new ArrayList<>(degre(v));
+        for (long m = bas[v]; m != 0; m &= m - 1) {
+            l.add(Long.numberOfTrailingZeros(m));
+        }
+        for (long m = haut[v]; m != 0; m &= m - 1) {
+            l.add(64 + Long.numberOfTrailingZeros(m));
+        }
+        return l;
+    }
+
+    /**
+     * Calcule la classe de connexité de v par un parcours en largeur sur les ensembles de bits :
+     * le front suivant est l'union des voisinages du front courant, privée des sommets déjà atteints
+     *
+     * @param v un sommet
+     * @param classe tableau de deux mots dans lequel on écrit l'ensemble des sommets de la classe de v
+     *               ({@code classe[0]} pour les sommets 0 à 63, {@code classe[1]} pour les sommets 64 à 127)
+     */
+    public void calculerClasseDeConnexite(int v, long[] classe) {
+        parcourir(v, -1);
+        classe[0] = atteintsBas;
+        classe[1] = atteintsHaut;
+    }
+
+    /**
+     * Parcours en largeur depuis v qui s'arrête dès que cible est atteint ; si cible n'est pas atteint,
+     * la classe de v est rangée dans {@code atteintsBas} et {@code atteintsHaut}
+     *
+     * @return vrai si cible a été atteint (toujours faux si cible vaut -1)
+     */
+    private boolean parcourir(int v, int cible) {
+        long vuBas = v < 64 ? 1L << v : 0;
+        long vuHaut = v < 64 ? 0 : 1L << (v - 64);
+        long frontBas = vuBas;
+        long frontHaut = vuHaut;
+        long cibleBas = cible >= 0 && cible < 64 ? 1L << cible : 0;
+        long cibleHaut = cible >= 64 ? 1L << (cible - 64) : 0;
+        while ((frontBas | frontHaut) != 0) {
+            long suivantBas = 0;
+            long suivantHaut = 0;
+            for (long m = frontBas; m != 0; m &= m - 1) {
+                int u = Long.numberOfTrailingZeros(m);
+                suivantBas |= bas[u];
+                suivantHaut |= haut[u];
+            }
+            for (long m = frontHaut; m != 0; m &= m - 1) {
+                int u = 64 + Long.numberOfTrailingZeros(m);
+                suivantBas |= bas[u];
+                suivantHaut |= haut[u];
+            }
+            frontBas = suivantBas & ~vuBas;
+            frontHaut = suivantHaut & ~vuHaut;
+            vuBas |= frontBas;
+            vuHaut |= frontHaut;
+            if (((vuBas & cibleBas) | (vuHaut & cibleHaut)) != 0) {
+                return true;
+            }
+        }
+        atteintsBas = vuBas;
+        atteintsHaut = vuHaut;
+        return false;
+    }
+
+    /**
+     * @return vrai si u et v sont reliés par une chaîne
+     */
+    public boolean sontConnectes(int u, int v) {
+        return u == v || parcourir(u, v);
+    }
+
+    /**
+     * @return le nombre de classes de connexité (un sommet isolé forme une classe)
+     */
+    public int nbCC() {
+        long resteBas = n >= 64 ? -1L : (1L << n) - 1;
+        long resteHaut = n <= 64 ? 0 : n == 128 ? -1L : (1L << (n - 64)) - 1;
+        int nb = 0;
+        while ((resteBas | resteHaut) != 0) {
+            int v = resteBas != 0 ? Long.numberOfTrailingZeros(resteBas) : 64 + Long.numberOfTrailingZeros(resteHaut);
+            parcourir(v, -1);
+            resteBas &= ~atteintsBas;
+            resteHaut &= ~atteintsHaut;
+            nb++;
+        }
+        return nb;
+    }
+
+    /**
+     * @return la liste des classes de connexité, chacune triée par ordre croissant
+     */
+    public ArrayList<ArrayList<Integer>> calculerClassesDeConnexite() {
+        ArrayList<ArrayList<Integer>> classes = new ArrayList<>();
+        long vuBas = 0;
+        long vuHaut = 0;
+        for (int v = 0; v < n; v++) {
+            boolean vu = v < 64 ? (vuBas >>> v & 1) != 0 : (vuHaut >>> (v - 64) & 1) != 0;
+            if (!vu) {
+                parcourir(v, -1);
+                long classeBas = atteintsBas;
+                long classeHaut = atteintsHaut;
+                vuBas |= classeBas;
+                vuHaut |= classeHaut;
+                ArrayList<Integer> l = new ArrayList<>();
+                for (long m = classeBas; m != 0; m &= m - 1) {
+                    l.add(Long.numberOfTrailingZeros(m));
+                }
+                for (long m = classeHaut; m != 0; m &= m - 1) {
+                    l.add(64 + Long.numberOfTrailingZeros(m));
+                }
+                classes.add(l);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * @return vrai si le graphe a une seule classe de connexité (faux pour le graphe sans sommet, comme
+     * {@link Graphe#estConnexe()})
+     */
+    public boolean estConnexe() {
+        return nbCC() == 1;
+    }
+
+    /**
+     * @return vrai si l'arête (u,v) existe et que sa suppression déconnecte u de v
+     */
+    public boolean estUnIsthme(int u, int v) {
+        if (!existeArete(u, v)) {
+            return false;
+        }
+        // on retire l'arête le temps du parcours, sans toucher au poids ni au nombre d'arêtes
+        basculer(u, v);
+        boolean relies = parcourir(u, v);
+        basculer(u, v);
+        return !relies;
+    }
+
+    /**
+     * @return le nombre de sommets de degré impair
+     */
+    public int nbSommetsImpairs() {
+        int nb = 0;
+        for (int v = 0; v < n; v++) {
+            nb += degre(v) & 1;
+        }
+        return nb;
+    }
+
+    /**
+     * @return vrai s'il existe un parcours eulérien dans le graphe (même règle que {@link Graphe#existeParcoursEulerien()})
+     */
+    public boolean existeParcoursEulerien() {
+        int impairs = nbSommetsImpairs();
+        return (impairs == 0 || impairs == 2) && estConnexe();
+    }
+
+    public boolean estUnArbre() {
+        return nbAretes == n - 1 && estConnexe();
+    }
+
+    public boolean estUneForet() {
+        return nbAretes == n - nbCC();
+    }
+}
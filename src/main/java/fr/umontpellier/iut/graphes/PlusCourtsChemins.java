@@ -0,0 +1,346 @@
+package fr.umontpellier.iut.graphes;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Table des plus courts chemins entre tous les couples de sommets d'un graphe
+ * <p>
+ * Les distances et les successeurs sont rangés dans deux tableaux plats de taille n * n :
+ * {@code distances[u * n + v]} est la longueur d'un plus court chemin de u à v ({@link #INFINI} s'il n'y en
+ * a pas) et {@code suivants[u * n + v]} le sommet qui suit u sur ce chemin, ce qui permet de reconstruire
+ * le chemin sans rien stocker d'autre.
+ * <p>
+ * La table est calculée par l'algorithme de Floyd-Warshall en O(n³) pour les petits graphes (un plateau de
+ * jeu), et par n recherches de Dijkstra avec un tas binaire d'entiers en O(n (n + m) log n) au-delà.
+ * Elle peut être enregistrée dans un fichier binaire et relue pour éviter de la recalculer.
+ */
+public class PlusCourtsChemins {
+    /**
+     * Distance entre deux sommets qui ne sont reliés par aucune chaîne
+     */
+    public static final int INFINI = Integer.MAX_VALUE;
+    /**
+     * Ordre au-delà duquel on remplace Floyd-Warshall par des recherches de Dijkstra
+     */
+    public static final int ORDRE_MAX_FLOYD = 128;
+    /**
+     * Marque placée en tête des fichiers de tables
+     */
+    private static final int MAGIQUE = 0x50434331;
+
+    private final int n;
+    private final int[] distances;
+    private final int[] suivants;
+    /**
+     * Empreinte des arêtes du graphe dont la table est issue (voir {@link #empreinte(Graphe)})
+     */
+    private final long empreinte;
+
+    private PlusCourtsChemins(int n, int[] distances, int[] suivants, long empreinte) {
+        this.n = n;
+        this.distances = distances;
+        this.suivants = suivants;
+        this.empreinte = empreinte;
+    }
+
+    /**
+     * Calcule la table des plus courts chemins du graphe (les longueurs des arêtes sont les distances ;
+     * dans un multigraphe, seule la plus courte des arêtes parallèles compte)
+     *
+     * @param g un graphe
+     * @return la table de ses plus courts chemins
+     */
+    public static PlusCourtsChemins calculer(Graphe g) {
+        return g.nbSommets() <= ORDRE_MAX_FLOYD ? floydWarshall(g) : dijkstra(g);
+    }
+
+    /**
+     * Calcule la table par l'algorithme de Floyd-Warshall, en O(n³)
+     */
+    static PlusCourtsChemins floydWarshall(Graphe g) {
+        int n = g.nbSommets();
+        int[] dist = new int[n * n];
+        int[] suiv = new int[n * n];
+        Arrays.fill(dist, INFINI);
+        Arrays.fill(suiv, -1);
+        for (int u = 0; u < n; u++) {
+            dist[u * n + u] = 0;
+            suiv[u * n + u] = u;
+            for (int k = 0; k < g.degre(u); k++) {
+                int v = g.voisin(u, k);
+                int p = g.poidsVoisin(u, k);
+                if (p < dist[u * n + v]) {
+                    dist[u * n + v] = p;
+                    suiv[u * n + v] = v;
+                }
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            int lk = k * n;
+            for (int u = 0; u < n; u++) {
+                int lu = u * n;
+                int duk = dist[lu + k];
+                if (duk == INFINI) {
+                    continue;
+                }
+                for (int v = 0; v < n; v++) {
+                    int dkv = dist[lk + v];
+                    if (dkv != INFINI && duk + dkv < dist[lu + v]) {
+                        dist[lu + v] = duk + dkv;
+                        suiv[lu + v] = suiv[lu + k];
+                    }
+                }
+            }
+        }
+        return new PlusCourtsChemins(n, dist, suiv, empreinte(g));
+    }
+
+    /**
+     * Calcule la table par une recherche de Dijkstra depuis chaque sommet, en O(n (n + m) log n)
+     * <p>
+     * Le tas est un tableau d'entiers indexé (un sommet y apparaît au plus une fois et sa clé est diminuée
+     * sur place), réutilisé d'une source à l'autre : aucune allocation par sommet.
+     */
+    static PlusCourtsChemins dijkstra(Graphe g) {
+        int n = g.nbSommets();
+        int[] dist = new int[n * n];
+        int[] suiv = new int[n * n];
+        Arrays.fill(dist, INFINI);
+        Arrays.fill(suiv, -1);
+        int[] tas = new int[n];
+        int[] position = new int[n];
+        Arrays.fill(position, -1);
+        for (int s = 0; s < n; s++) {
+            int ls = s * n;
+            dist[ls + s] = 0;
+            suiv[ls + s] = s;
+            int taille = 0;
+            tas[taille] = s;
+            position[s] = taille++;
+            while (taille > 0) {
+                // extraction du minimum
+                int u = tas[0];
+                position[u] = -1;
+                taille--;
+                if (taille > 0) {
+                    tas[0] = tas[taille];
+                    position[tas[0]] = 0;
+                    descendre(tas, position, taille, dist, ls, 0);
+                }
+                int du = dist[ls + u];
+                for (int k = 0; k < g.degre(u); k++) {
+                    int v = g.voisin(u, k);
+                    int d = du + g.poidsVoisin(u, k);
+                    if (d < dist[ls + v]) {
+                        boolean present = position[v] >= 0;
+                        dist[ls + v] = d;
+                        // le premier pas vers v est celui vers u, sauf si u est la source
+                        suiv[ls + v] = u == s ? v : suiv[ls + u];
+                        if (!present) {
+                            tas[taille] = v;
+                            position[v] = taille++;
+                        }
+                        monter(tas, position, dist, ls, position[v]);
+                    }
+                }
+            }
+        }
+        return new PlusCourtsChemins(n, dist, suiv, empreinte(g));
+    }
+
+    private static void monter(int[] tas, int[] position, int[] dist, int ls, int i) {
+        int x = tas[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (dist[ls + tas[parent]] <= dist[ls + x]) {
+                break;
+            }
+            tas[i] = tas[parent];
+            position[tas[i]] = i;
+            i = parent;
+        }
+        tas[i] = x;
+        position[x] = i;
+    }
+
+    private static void descendre(int[] tas, int[] position, int taille, int[] dist, int ls, int i) {
+        int x = tas[i];
+        while (true) {
+            int fils = 2 * i + 1;
+            if (fils >= taille) {
+                break;
+            }
+            if (fils + 1 < taille && dist[ls + tas[fils + 1]] < dist[ls + tas[fils]]) {
+                fils++;
+            }
+            if (dist[ls + tas[fils]] >= dist[ls + x]) {
+                break;
+            }
+            tas[i] = tas[fils];
+            position[tas[i]] = i;
+            i = fils;
+        }
+        tas[i] = x;
+        position[x] = i;
+    }
+
+    /**
+     * Calcule une empreinte des arêtes du graphe (ordre, extrémités et longueurs), indépendante de l'ordre
+     * dans lequel les arêtes ont été ajoutées. Elle sert à vérifier qu'une table enregistrée correspond
+     * bien au graphe.
+     *
+     * @param g un graphe
+     * @return l'empreinte du graphe
+     */
+    public static long empreinte(Graphe g) {
+        long h = g.nbSommets();
+        for (int u = 0; u < g.nbSommets(); u++) {
+            for (int k = 0; k < g.degre(u); k++) {
+                int v = g.voisin(u, k);
+                if (u < v) {
+                    long x = ((long) u * 0x9E3779B97F4A7C15L) ^ ((long) v << 32) ^ g.poidsVoisin(u, k);
+                    x ^= x >>> 31;
+                    x *= 0xBF58476D1CE4E5B9L;
+                    h += x ^ (x >>> 29);
+                }
+            }
+        }
+        return h;
+    }
+
+    public int nbSommets() {
+        return n;
+    }
+
+    /**
+     * @return l'empreinte du graphe dont la table est issue
+     */
+    public long getEmpreinte() {
+        return empreinte;
+    }
+
+    /**
+     * @return la longueur d'un plus court chemin de u à v ({@link #INFINI} si u et v ne sont pas reliés)
+     */
+    public int distance(int u, int v) {
+        return distances[u * n + v];
+    }
+
+    /**
+     * @return le sommet qui suit u sur un plus court chemin de u à v (-1 si u et v ne sont pas reliés)
+     */
+    public int suivant(int u, int v) {
+        return suivants[u * n + v];
+    }
+
+    /**
+     * @return la liste des sommets d'un plus court chemin de u à v (vide si u et v ne sont pas reliés)
+     */
+    public ArrayList<Integer> chemin(int u, int v) {
+        ArrayList<Integer> chemin = new ArrayList<>();
+        if (suivants[u * n + v] < 0) {
+            return chemin;
+        }
+        chemin.add(u);
+        while (u != v) {
+            u = suivants[u * n + v];
+            chemin.add(u);
+        }
+        return chemin;
+    }
+
+    /**
+     * Enregistre la table dans un fichier binaire
+     *
+     * @param fichier le chemin du fichier (remplacé s'il existe)
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public void enregistrer(Path fichier) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(fichier)))) {
+            out.writeInt(MAGIQUE);
+            out.writeInt(n);
+            out.writeLong(empreinte);
+            for (int d : distances) {
+                out.writeInt(d);
+            }
+            for (int s : suivants) {
+                out.writeInt(s);
+            }
+        }
+    }
+
+    /**
+     * Relit une table enregistrée par {@link #enregistrer(Path)}
+     *
+     * @param fichier le chemin du fichier
+     * @return la table lue
+     * @throws IOException si le fichier ne peut pas être lu ou n'est pas une table
+     */
+    public static PlusCourtsChemins charger(Path fichier) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(fichier)))) {
+            if (in.readInt() != MAGIQUE) {
+                throw new IOException("Le fichier " + fichier + " ne contient pas de table de plus courts chemins");
+            }
+            int n = in.readInt();
+            long empreinte = in.readLong();
+            // en-tête corrompu : rien n'est alloué avant d'avoir vérifié que la taille correspond au fichier
+            if (n < 0 || (long) n * n > Integer.MAX_VALUE || Files.size(fichier) != 16 + 8L * n * n) {
+                throw new IOException("Le fichier " + fichier + " a un en-tête invalide (" + n + " sommets)");
+            }
+            int[] distances = new int[n * n];
+            int[] suivants = new int[n * n];
+            for (int i = 0; i < distances.length; i++) {
+                distances[i] = in.readInt();
+            }
+            for (int i = 0; i < suivants.length; i++) {
+                suivants[i] = in.readInt();
+            }
+            return new PlusCourtsChemins(n, distances, suivants, empreinte);
+        }
+    }
+
+    /**
+     * Relit la table du graphe dans le fichier s'il existe et correspond au graphe, sinon la calcule et
+     * l'enregistre (une erreur d'écriture n'empêche pas de renvoyer la table calculée)
+     *
+     * @param g       un graphe
+     * @param fichier le chemin du fichier de la table
+     * @return la table des plus courts chemins du graphe
+     */
+    public static PlusCourtsChemins chargerOuCalculer(Graphe g, Path fichier) {
+        long attendue = empreinte(g);
+        if (Files.isRegularFile(fichier)) {
+            try {
+                PlusCourtsChemins table = charger(fichier);
+                if (table.n == g.nbSommets() && table.empreinte == attendue) {
+                    return table;
+                }
+            } catch (IOException e) {
+                // fichier illisible : on recalcule
+            }
+        }
+        PlusCourtsChemins table = calculer(g);
+        try {
+            enregistrerSiPossible(table, fichier);
+        } catch (IOException e) {
+            // la table reste utilisable même si elle n'a pas pu être enregistrée
+        }
+        return table;
+    }
+
+    private static void enregistrerSiPossible(PlusCourtsChemins table, Path fichier) throws IOException {
+        Path dossier = fichier.toAbsolutePath().getParent();
+        if (dossier != null) {
+            Files.createDirectories(dossier);
+        }
+        table.enregistrer(fichier);
+    }
+}
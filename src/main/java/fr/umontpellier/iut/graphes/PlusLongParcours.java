@@ -0,0 +1,670 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Recherche exacte du plus long parcours (suite d'arêtes distinctes, les sommets pouvant se répéter)
+ * dans une composante connexe d'un graphe, par séparation et évaluation
+ * <p>
+ * Les arêtes de la composante sont renumérotées de 0 à m-1 (dans l'ordre de leurs identifiants) et
+ * les arêtes déjà empruntées sont marquées dans un tableau de bits, sans jamais modifier le graphe. Une branche est abandonnée dès que la longueur courante plus
+ * la somme des longueurs des arêtes encore accessibles depuis le sommet courant ne dépasse pas le
+ * meilleur parcours déjà trouvé.
+ * <p>
+ * Un parcours optimal commence toujours par un sommet de degré impair s'il en existe : sinon on
+ * pourrait le prolonger par une arête non utilisée de son extrémité. Seuls ces sommets sont donc
+ * essayés comme point de départ.
+ * <p>
+ * La recherche générale n'est lancée que pour les composantes qui n'ont pas de structure plus simple :
+ * <ul>
+ *     <li>une composante qui a au plus deux sommets impairs admet un parcours eulérien, construit
+ *     directement en O(m) ;</li>
+ *     <li>dans un arbre, le plus long parcours est un diamètre pondéré, obtenu par deux parcours en
+ *     largeur ;</li>
+ *     <li>une composante d'au plus {@link #NB_ARETES_ENUMERATION} arêtes est énumérée exhaustivement,
+ *     sans calcul de borne.</li>
+ * </ul>
+ * Les tableaux de travail sont pris dans un brouillon propre à chaque fil et agrandi au besoin : une
+ * composante n'alloue que son résultat. Une instance doit donc être utilisée avant qu'une autre soit
+ * créée par le même fil.
+ * Si le graphe a un cache ({@link Graphe#setCacheParcours(CacheParcours)}), les résultats de la recherche
+ * générale y sont conservés et il est consulté avant chaque nouvelle recherche.
+ */
+class PlusLongParcours {
+    /**
+     * Nombre d'arêtes jusqu'auquel une composante est énumérée sans calcul de borne
+     */
+    static final int NB_ARETES_ENUMERATION = 10;
+
+    /**
+     * Tableaux de travail réutilisés d'une composante à l'autre par un même fil
+     */
+    private static final ThreadLocal<Brouillon> BROUILLONS = ThreadLocal.withInitial(Brouillon::new);
+
+    /**
+     * Tableaux de travail d'un fil, dimensionnés pour la plus grande composante rencontrée
+     */
+    private static final class Brouillon {
+        private int[] debut = new int[1];
+        private int[] voisinIncident = new int[0];
+        private int[] areteIncidente = new int[0];
+        private long[] cles = new long[0];
+        private int[] identifiants = new int[0];
+        private int[] poids = new int[0];
+        private long[] utilisees = new long[0];
+        private long[] comptees = new long[0];
+        private boolean[] atteints = new boolean[0];
+        private int[] file = new int[0];
+        private int[] degresRestants = new int[0];
+        private int[] distances = new int[0];
+        private int[] prochain = new int[0];
+        private int[] poidsAtteints = new int[0];
+        private int[] chemin = new int[0];
+        private int[] cheminAretes = new int[0];
+        private int[] meilleurChemin = new int[0];
+        private int[] meilleuresAretes = new int[0];
+
+        /**
+         * Agrandit les tableaux indexés par les sommets pour une composante de n sommets
+         */
+        private void reserverSommets(int n) {
+            if (debut.length < n + 1) {
+                debut = new int[n + 1];
+                atteints = new boolean[n];
+                file = new int[n];
+                degresRestants = new int[n];
+                distances = new int[n];
+                prochain = new int[n];
+            }
+        }
+
+        /**
+         * Agrandit les tableaux indexés par les arêtes pour une composante de m arêtes
+         */
+        private void reserverAretes(int m) {
+            if (identifiants.length < m) {
+                voisinIncident = new int[2 * m];
+                areteIncidente = new int[2 * m];
+                cles = new long[2 * m];
+                identifiants = new int[m];
+                poids = new int[m];
+                utilisees = new long[(m + 63) >>> 6];
+                comptees = new long[utilisees.length];
+                poidsAtteints = new int[m];
+                // une case de plus pour les piles du parcours eulérien
+                chemin = new int[m + 1];
+                cheminAretes = new int[m + 1];
+                meilleurChemin = new int[m + 1];
+                meilleuresAretes = new int[m + 1];
+            }
+        }
+    }
+
+    /**
+     * Sommets de la composante (numérotation du graphe d'origine)
+     */
+    private final int[] sommets;
+    /**
+     * Cache du graphe (null s'il n'en a pas)
+     */
+    private final CacheParcours cache;
+    /**
+     * debut[x] .. debut[x + 1] - 1 sont les indices des arêtes incidentes au sommet local x dans
+     * {@code voisinIncident} et {@code areteIncidente}, triées par voisin croissant
+     */
+    private final int[] debut;
+    private final int[] voisinIncident;
+    private final int[] areteIncidente;
+    /**
+     * identifiants[a] est l'identifiant dans le graphe de l'arête locale a
+     */
+    private final int[] identifiants;
+    /**
+     * Longueur de chaque arête de la composante
+     */
+    private final int[] poids;
+    /**
+     * Nombre d'arêtes de la composante et nombre de mots de {@code utilisees} qu'elles occupent
+     */
+    private final int m;
+    private final int nbMots;
+    /**
+     * Somme des longueurs de toutes les arêtes de la composante
+     */
+    private final int poidsTotal;
+
+    /**
+     * Arêtes déjà empruntées par le parcours en cours de construction
+     */
+    private final long[] utilisees;
+    /**
+     * Arêtes déjà comptées lors du calcul d'une borne
+     */
+    private final long[] comptees;
+    /**
+     * Sommets déjà atteints lors du calcul d'une borne
+     */
+    private final boolean[] atteints;
+    private final int[] file;
+    /**
+     * Distances et prochaines arêtes à examiner lors des parcours d'un arbre ou d'un parcours eulérien
+     */
+    private final int[] distances;
+    private final int[] prochain;
+    /**
+     * Degrés et longueurs des arêtes non utilisées rencontrées lors du calcul d'une borne
+     */
+    private final int[] degresRestants;
+    private final int[] poidsAtteints;
+
+    /**
+     * Sommets et arêtes locaux du parcours en cours de construction
+     */
+    private final int[] chemin;
+    private final int[] cheminAretes;
+    /**
+     * Meilleur parcours trouvé : ses {@code meilleurNbAretes} premières arêtes et les sommets qui les bordent
+     */
+    private final int[] meilleurChemin;
+    private final int[] meilleuresAretes;
+    private int meilleurNbAretes;
+    private int meilleureLongueur;
+    /**
+     * Majorant de la longueur d'un parcours de la composante : la recherche s'arrête dès qu'il est atteint
+     */
+    private int objectif;
+
+    /**
+     * Prépare la recherche dans la composante connexe formée par les sommets indiqués
+     *
+     * @param g       le graphe
+     * @param sommets les sommets d'une composante connexe de g, par ordre croissant
+     */
+    PlusLongParcours(Graphe g, int[] sommets) {
+        this.sommets = sommets;
+        this.cache = g.getCacheParcours();
+        int n = sommets.length;
+        Brouillon b = BROUILLONS.get();
+        b.reserverSommets(n);
+
+        // les arêtes sont numérotées localement dans l'ordre croissant de leurs identifiants
+        debut = b.debut;
+        debut[0] = 0;
+        for (int x = 0; x < n; x++) {
+            debut[x + 1] = debut[x] + g.degre(sommets[x]);
+        }
+        m = debut[n] / 2;
+        nbMots = (m + 63) >>> 6;
+        b.reserverAretes(m);
+        identifiants = b.identifiants;
+        int nbAretes = 0;
+        for (int x = 0; x < n; x++) {
+            int u = sommets[x];
+            for (int k = 0; k < g.degre(u); k++) {
+                if (u < g.voisin(u, k)) {
+                    identifiants[nbAretes++] = g.areteVoisin(u, k);
+                }
+            }
+        }
+        Arrays.sort(identifiants, 0, m);
+
+        // représentation compacte, triée par voisin puis par numéro d'arête
+        voisinIncident = b.voisinIncident;
+        areteIncidente = b.areteIncidente;
+        poids = b.poids;
+        long[] cles = b.cles;
+        int total = 0;
+        for (int x = 0; x < n; x++) {
+            int u = sommets[x];
+            for (int k = 0; k < g.degre(u); k++) {
+                int y = Arrays.binarySearch(sommets, g.voisin(u, k));
+                int a = Arrays.binarySearch(identifiants, 0, m, g.areteVoisin(u, k));
+                cles[debut[x] + k] = (long) y << 32 | a;
+                if (x < y) {
+                    poids[a] = g.poidsVoisin(u, k);
+                    total += poids[a];
+                }
+            }
+            Arrays.sort(cles, debut[x], debut[x + 1]);
+            for (int i = debut[x]; i < debut[x + 1]; i++) {
+                voisinIncident[i] = (int) (cles[i] >>> 32);
+                areteIncidente[i] = (int) cles[i];
+            }
+        }
+        poidsTotal = total;
+
+        utilisees = b.utilisees;
+        comptees = b.comptees;
+        atteints = b.atteints;
+        file = b.file;
+        degresRestants = b.degresRestants;
+        distances = b.distances;
+        prochain = b.prochain;
+        poidsAtteints = b.poidsAtteints;
+        chemin = b.chemin;
+        cheminAretes = b.cheminAretes;
+        meilleurChemin = b.meilleurChemin;
+        meilleuresAretes = b.meilleuresAretes;
+        // les marques doivent être vierges, même si une recherche précédente a été interrompue
+        Arrays.fill(utilisees, 0, nbMots, 0L);
+        Arrays.fill(atteints, 0, n, false);
+        Arrays.fill(degresRestants, 0, n, 0);
+    }
+
+    /**
+     * @return la somme des longueurs des arêtes de la composante
+     */
+    int getPoidsTotal() {
+        return poidsTotal;
+    }
+
+    /**
+     * Calcule un plus long parcours de la composante
+     *
+     * @return un parcours de longueur maximale (les sommets sont ceux du graphe d'origine)
+     */
+    Parcours calculer() {
+        int n = sommets.length;
+        int nbImpairs = 0;
+        for (int x = 0; x < n; x++) {
+            nbImpairs += (debut[x + 1] - debut[x]) % 2;
+        }
+        if (nbImpairs <= 2) {
+            // la composante est eulérienne : le parcours eulérien emprunte toutes les arêtes
+            return parcoursEulerien();
+        }
+        if (m == n - 1) {
+            return diametreArbre();
+        }
+        CacheParcours cache = m > NB_ARETES_ENUMERATION ? this.cache : null;
+        int[] ordre = null;
+        CacheParcours.Cle cle = null;
+        if (cache != null) {
+            int[] extremite1 = new int[m];
+            int[] extremite2 = new int[m];
+            ordre = ordreCanonique(extremite1, extremite2);
+            // clé : (u, v) puis longueur de chaque arête, dans l'ordre canonique
+            long[] codes = new long[2 * m];
+            for (int rang = 0; rang < m; rang++) {
+                int e = ordre[rang];
+                codes[2 * rang] = (long) extremite1[e] << 32 | extremite2[e];
+                codes[2 * rang + 1] = poids[e];
+            }
+            cle = new CacheParcours.Cle(codes);
+            CacheParcours.Entree entree = cache.chercher(cle);
+            if (entree != null) {
+                ArrayList<Integer> res = new ArrayList<>(entree.sommets.length);
+                ArrayList<Integer> aretes = new ArrayList<>(entree.rangs.length);
+                for (int v : entree.sommets) {
+                    res.add(v);
+                }
+                for (int rang : entree.rangs) {
+                    aretes.add(identifiants[ordre[rang]]);
+                }
+                return new Parcours(res, aretes, entree.longueur);
+            }
+        }
+        meilleureLongueur = 0;
+        meilleurNbAretes = 0;
+        objectif = 0;
+        for (int x = 0; x < n; x++) {
+            if ((debut[x + 1] - debut[x]) % 2 != 0) {
+                objectif = borneAccessible(x);
+                break;
+            }
+        }
+        for (int x = 0; x < n && meilleureLongueur < objectif; x++) {
+            if ((debut[x + 1] - debut[x]) % 2 != 0) {
+                chemin[0] = x;
+                if (m <= NB_ARETES_ENUMERATION) {
+                    enumerer(x, 0, 0);
+                } else {
+                    explorer(x, 0, 0, poidsTotal);
+                }
+            }
+        }
+        if (cle != null) {
+            int[] rangs = new int[m];
+            for (int rang = 0; rang < m; rang++) {
+                rangs[ordre[rang]] = rang;
+            }
+            int[] sommetsParcours = new int[meilleurNbAretes == 0 ? 0 : meilleurNbAretes + 1];
+            int[] rangsParcours = new int[meilleurNbAretes];
+            for (int i = 0; i < sommetsParcours.length; i++) {
+                sommetsParcours[i] = sommets[meilleurChemin[i]];
+            }
+            for (int i = 0; i < meilleurNbAretes; i++) {
+                rangsParcours[i] = rangs[meilleuresAretes[i]];
+            }
+            cache.ajouter(cle, new CacheParcours.Entree(sommetsParcours, rangsParcours, meilleureLongueur));
+        }
+        return versParcours(meilleurChemin, meilleuresAretes, meilleurNbAretes, meilleureLongueur);
+    }
+
+    /**
+     * Range les arêtes de la composante dans l'ordre canonique : par extrémités (u &lt; v, numérotation du
+     * graphe) puis par longueur. Deux composantes formées des mêmes arêtes ont ainsi la même suite,
+     * quels que soient l'ordre d'ajout et les identifiants de leurs arêtes.
+     *
+     * @param extremite1 reçoit la plus petite extrémité (dans le graphe) de chaque arête locale
+     * @param extremite2 reçoit la plus grande
+     * @return ordre[rang] est le numéro local de l'arête de rang donné
+     */
+    private int[] ordreCanonique(int[] extremite1, int[] extremite2) {
+        int n = sommets.length;
+        boolean compact = m <= 0xFFFF && sommets[n - 1] <= 0xFFFF;
+        for (int x = 0; x < n; x++) {
+            for (int i = debut[x]; i < debut[x + 1]; i++) {
+                int y = voisinIncident[i];
+                int a = areteIncidente[i];
+                if (x < y) {
+                    extremite1[a] = sommets[x];
+                    extremite2[a] = sommets[y];
+                    compact &= poids[a] >= 0 && poids[a] <= 0xFFFF;
+                }
+            }
+        }
+        int[] ordre = new int[m];
+        if (compact) {
+            // tout tient sur 16 bits : un seul tri de longs (u, v, longueur, numéro local)
+            long[] codes = new long[m];
+            for (int a = 0; a < m; a++) {
+                codes[a] = (long) extremite1[a] << 48 | (long) extremite2[a] << 32 | (long) poids[a] << 16 | a;
+            }
+            Arrays.sort(codes);
+            for (int rang = 0; rang < m; rang++) {
+                ordre[rang] = (int) (codes[rang] & 0xFFFF);
+            }
+        } else {
+            Integer[] aretes = new Integer[m];
+            for (int a = 0; a < m; a++) {
+                aretes[a] = a;
+            }
+            Arrays.sort(aretes, Comparator.<Integer>comparingInt(a -> extremite1[a])
+                    .thenComparingInt(a -> extremite2[a]).thenComparingInt(a -> poids[a]));
+            for (int rang = 0; rang < m; rang++) {
+                ordre[rang] = aretes[rang];
+            }
+        }
+        return ordre;
+    }
+
+    /**
+     * Calcule un plus long parcours d'une composante qui est un arbre : c'est un diamètre pondéré
+     * <p>
+     * Le sommet le plus éloigné d'un sommet quelconque est une extrémité a d'un diamètre, et le plus
+     * éloigné de a en est l'autre extrémité b. L'excentricité de chaque sommet est alors le maximum de ses
+     * distances à a et à b, ce qui donne toutes les extrémités de diamètres. Pour renvoyer le même parcours
+     * que la recherche générale, on part de la plus petite d'entre elles et on descend dans l'ordre des
+     * voisins jusqu'au premier sommet à distance maximale. Le tout se fait en quatre parcours linéaires.
+     *
+     * @return un chemin de longueur maximale de l'arbre
+     */
+    private Parcours diametreArbre() {
+        int[] distancesA = distances;
+        int[] distancesB = prochain;
+        int a = plusEloigne(0, distancesA);
+        int b = plusEloigne(a, distancesA);
+        plusEloigne(b, distancesB);
+        int diametre = distancesA[b];
+        int depart = 0;
+        while (Math.max(distancesA[depart], distancesB[depart]) != diametre) {
+            depart++;
+        }
+
+        // descente en profondeur depuis le départ (chemin et cheminAretes servent de pile, distancesB
+        // reçoit la prochaine arête à examiner de chaque sommet)
+        int hauteur = 0;
+        chemin[0] = depart;
+        distances[depart] = 0;
+        prochain[depart] = debut[depart];
+        while (distances[chemin[hauteur]] != diametre) {
+            int x = chemin[hauteur];
+            int i = prochain[x];
+            if (i == debut[x + 1]) {
+                hauteur--;
+                continue;
+            }
+            prochain[x]++;
+            int arete = areteIncidente[i];
+            if (hauteur > 0 && arete == cheminAretes[hauteur - 1]) {
+                continue;
+            }
+            int y = voisinIncident[i];
+            distances[y] = distances[x] + poids[arete];
+            prochain[y] = debut[y];
+            cheminAretes[hauteur] = arete;
+            chemin[++hauteur] = y;
+        }
+        return versParcours(chemin, cheminAretes, hauteur, diametre);
+    }
+
+    /**
+     * Parcours en largeur de l'arbre depuis x
+     *
+     * @param distances reçoit la distance pondérée de chaque sommet à x
+     * @return le sommet le plus éloigné de x
+     */
+    private int plusEloigne(int x, int[] distances) {
+        int tete = 0;
+        int queue = 0;
+        int loin = x;
+        file[queue++] = x;
+        atteints[x] = true;
+        distances[x] = 0;
+        while (tete < queue) {
+            int y = file[tete++];
+            if (distances[y] > distances[loin]) {
+                loin = y;
+            }
+            for (int i = debut[y]; i < debut[y + 1]; i++) {
+                int z = voisinIncident[i];
+                if (!atteints[z]) {
+                    atteints[z] = true;
+                    distances[z] = distances[y] + poids[areteIncidente[i]];
+                    file[queue++] = z;
+                }
+            }
+        }
+        for (int i = 0; i < queue; i++) {
+            atteints[file[i]] = false;
+        }
+        return loin;
+    }
+
+    /**
+     * Énumère tous les parcours qui prolongent le parcours courant depuis le sommet local x (sans borne,
+     * pour les très petites composantes)
+     */
+    private void enumerer(int x, int nbAretes, int longueur) {
+        if (longueur > meilleureLongueur) {
+            retenir(nbAretes, longueur);
+        }
+        for (int i = debut[x]; i < debut[x + 1] && meilleureLongueur < objectif; i++) {
+            int a = areteIncidente[i];
+            if ((utilisees[0] & (1L << a)) == 0) {
+                utilisees[0] |= 1L << a;
+                chemin[nbAretes + 1] = voisinIncident[i];
+                cheminAretes[nbAretes] = a;
+                enumerer(voisinIncident[i], nbAretes + 1, longueur + poids[a]);
+                utilisees[0] &= ~(1L << a);
+            }
+        }
+    }
+
+    /**
+     * Retient le parcours courant comme meilleur parcours
+     */
+    private void retenir(int nbAretes, int longueur) {
+        meilleureLongueur = longueur;
+        meilleurNbAretes = nbAretes;
+        System.arraycopy(chemin, 0, meilleurChemin, 0, nbAretes + 1);
+        System.arraycopy(cheminAretes, 0, meilleuresAretes, 0, nbAretes);
+    }
+
+    /**
+     * Construit un parcours eulérien de la composante en O(m) (algorithme de Hierholzer)
+     * <p>
+     * Prérequis : la composante a 0 ou 2 sommets de degré impair. Le parcours part du plus petit
+     * sommet impair s'il y en a (parcours ouvert), du plus petit sommet sinon (parcours fermé).
+     *
+     * @return un parcours qui emprunte une et une seule fois chaque arête de la composante
+     */
+    Parcours parcoursEulerien() {
+        int n = sommets.length;
+        if (debut[n] == 0) {
+            return Parcours.vide();
+        }
+        int depart = 0;
+        for (int x = n - 1; x >= 0; x--) {
+            if ((debut[x + 1] - debut[x]) % 2 != 0) {
+                depart = x;
+            }
+        }
+        System.arraycopy(debut, 0, prochain, 0, n);
+        int[] pile = chemin;
+        int[] pileAretes = cheminAretes;   // arête par laquelle chaque sommet de la pile a été atteint
+        int[] circuit = meilleurChemin;
+        int[] circuitAretes = meilleuresAretes;
+        int hauteur = 0;
+        int taille = 0;
+        pileAretes[hauteur] = -1;
+        pile[hauteur++] = depart;
+        while (hauteur > 0) {
+            int x = pile[hauteur - 1];
+            int i = prochain[x];
+            while (i < debut[x + 1] && (utilisees[areteIncidente[i] >>> 6] & (1L << areteIncidente[i])) != 0) {
+                i++;
+            }
+            prochain[x] = i;
+            if (i < debut[x + 1]) {
+                int a = areteIncidente[i];
+                utilisees[a >>> 6] |= 1L << a;
+                pileAretes[hauteur] = a;
+                pile[hauteur++] = voisinIncident[i];
+            } else {
+                // x n'a plus d'arête libre : il prend place dans le parcours (construit à l'envers)
+                hauteur--;
+                if (pileAretes[hauteur] >= 0) {
+                    circuitAretes[taille] = pileAretes[hauteur];
+                }
+                circuit[taille++] = x;
+            }
+        }
+        Arrays.fill(utilisees, 0, nbMots, 0L);
+        for (int i = 0, j = taille - 1; i < j; i++, j--) {
+            int x = circuit[i];
+            circuit[i] = circuit[j];
+            circuit[j] = x;
+        }
+        // circuitAretes[0 .. taille - 2] contient les arêtes de la fin vers le début
+        for (int i = 0, j = taille - 2; i < j; i++, j--) {
+            int a = circuitAretes[i];
+            circuitAretes[i] = circuitAretes[j];
+            circuitAretes[j] = a;
+        }
+        return versParcours(circuit, circuitAretes, taille - 1, poidsTotal);
+    }
+
+    /**
+     * @return le parcours formé par les nbAretes premières arêtes locales (et les nbAretes + 1 premiers
+     * sommets locaux) des tableaux, dans la numérotation du graphe
+     */
+    private Parcours versParcours(int[] locaux, int[] aretesLocales, int nbAretes, int longueur) {
+        ArrayList<Integer> res = new ArrayList<>(nbAretes + 1);
+        ArrayList<Integer> aretes = new ArrayList<>(nbAretes);
+        for (int i = 0; i < nbAretes; i++) {
+            res.add(sommets[locaux[i]]);
+            aretes.add(identifiants[aretesLocales[i]]);
+        }
+        if (nbAretes > 0) {
+            res.add(sommets[locaux[nbAretes]]);
+        }
+        return new Parcours(res, aretes, longueur);
+    }
+
+    /**
+     * Prolonge le parcours courant depuis le sommet local x
+     *
+     * @param x        extrémité du parcours courant
+     * @param nbAretes nombre d'arêtes du parcours courant
+     * @param longueur longueur du parcours courant
+     * @param restant  somme des longueurs des arêtes non utilisées
+     */
+    private void explorer(int x, int nbAretes, int longueur, int restant) {
+        if (longueur > meilleureLongueur) {
+            retenir(nbAretes, longueur);
+        }
+        if (longueur + restant <= meilleureLongueur
+                || longueur + borneAccessible(x) <= meilleureLongueur) {
+            return;
+        }
+        for (int i = debut[x]; i < debut[x + 1] && meilleureLongueur < objectif; i++) {
+            int a = areteIncidente[i];
+            if ((utilisees[a >>> 6] & (1L << a)) == 0) {
+                utilisees[a >>> 6] |= 1L << a;
+                chemin[nbAretes + 1] = voisinIncident[i];
+                cheminAretes[nbAretes] = a;
+                explorer(voisinIncident[i], nbAretes + 1, longueur + poids[a], restant - poids[a]);
+                utilisees[a >>> 6] &= ~(1L << a);
+            }
+        }
+    }
+
+    /**
+     * Majorant de la longueur qui peut encore être ajoutée au parcours depuis x
+     * <p>
+     * Soit H le graphe des arêtes non utilisées accessibles depuis x. Les arêtes de H qui ne seront pas
+     * empruntées forment un graphe dont les sommets impairs sont ceux de H, sauf au plus les deux
+     * extrémités du reste du parcours. Chacune de ces arêtes corrige au plus deux sommets impairs : il
+     * faut donc renoncer au moins à (nombre de sommets impairs de H - 2) / 2 arêtes (ou à la moitié
+     * des sommets impairs si x est pair dans H), et on retire les plus courtes.
+     *
+     * @return un majorant de la longueur du plus long parcours de H partant de x
+     */
+    private int borneAccessible(int x) {
+        System.arraycopy(utilisees, 0, comptees, 0, nbMots);
+        int somme = 0;
+        int nbPoids = 0;
+        int tete = 0;
+        int queue = 0;
+        file[queue++] = x;
+        atteints[x] = true;
+        while (tete < queue) {
+            int y = file[tete++];
+            for (int i = debut[y]; i < debut[y + 1]; i++) {
+                int a = areteIncidente[i];
+                if ((comptees[a >>> 6] & (1L << a)) == 0) {
+                    comptees[a >>> 6] |= 1L << a;
+                    somme += poids[a];
+                    poidsAtteints[nbPoids++] = poids[a];
+                    int z = voisinIncident[i];
+                    degresRestants[y]++;
+                    degresRestants[z]++;
+                    if (!atteints[z]) {
+                        atteints[z] = true;
+                        file[queue++] = z;
+                    }
+                }
+            }
+        }
+        boolean xImpair = (degresRestants[x] & 1) != 0;
+        int nbImpairs = 0;
+        for (int i = 0; i < queue; i++) {
+            int y = file[i];
+            nbImpairs += degresRestants[y] & 1;
+            degresRestants[y] = 0;
+            atteints[y] = false;
+        }
+        int nbExclues = xImpair ? (nbImpairs - 2) / 2 : nbImpairs / 2;
+        if (nbExclues > 0) {
+            Arrays.sort(poidsAtteints, 0, nbPoids);
+            for (int i = 0; i < nbExclues; i++) {
+                somme -= poidsAtteints[i];
+            }
+        }
+        return somme;
+    }
+}
@@ -0,0 +1,102 @@
+package fr.umontpellier.iut.graphes;
+
+import java.util.Arrays;
+
+/**
+ * Partition des entiers de 0 à n-1 en classes disjointes (structure "union-find")
+ * <p>
+ * Les opérations {@code trouver} et {@code unir} sont en temps quasi constant
+ * (union par rang et compression de chemin par dédoublement)
+ */
+public class UnionFind {
+    /**
+     * parent[x] est le parent de x dans l'arbre de sa classe (parent[x] = x pour un représentant)
+     */
+    private final int[] parent;
+    /**
+     * rang[x] est un majorant de la hauteur de l'arbre enraciné en x
+     */
+    private final byte[] rang;
+    /**
+     * Nombre de classes de la partition
+     */
+    private int nbClasses;
+
+    /**
+     * Construit la partition de {0, ..., n-1} en n singletons
+     *
+     * @param n le nombre d'éléments
+     */
+    public UnionFind(int n) {
+        parent = new int[n];
+        rang = new byte[n];
+        reinitialiser();
+    }
+
+    /**
+     * Replace chaque élément seul dans sa classe
+     */
+    public void reinitialiser() {
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        Arrays.fill(rang, (byte) 0);
+        nbClasses = parent.length;
+    }
+
+    /**
+     * @return le nombre d'éléments de la partition
+     */
+    public int taille() {
+        return parent.length;
+    }
+
+    /**
+     * @return le nombre de classes de la partition
+     */
+    public int nbClasses() {
+        return nbClasses;
+    }
+
+    /**
+     * @param x un élément
+     * @return le représentant de la classe de x
+     */
+    public int trouver(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Fusionne les classes de x et de y
+     *
+     * @return vrai si x et y étaient dans deux classes différentes, faux sinon
+     */
+    public boolean unir(int x, int y) {
+        int rx = trouver(x);
+        int ry = trouver(y);
+        if (rx == ry) {
+            return false;
+        }
+        if (rang[rx] < rang[ry]) {
+            parent[rx] = ry;
+        } else if (rang[rx] > rang[ry]) {
+            parent[ry] = rx;
+        } else {
+            parent[ry] = rx;
+            rang[rx]++;
+        }
+        nbClasses--;
+        return true;
+    }
+
+    /**
+     * @return vrai si x et y sont dans la même classe
+     */
+    public boolean memeClasse(int x, int y) {
+        return trouver(x) == trouver(y);
+    }
+}
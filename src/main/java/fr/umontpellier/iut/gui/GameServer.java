@@ -1,6 +1,7 @@
 package fr.umontpellier.iut.gui;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Scanner;
 
@@ -10,6 +11,7 @@ import javax.websocket.Session;
 import org.glassfish.tyrus.server.Server;
 
 import fr.umontpellier.iut.rails.Jeu;
+import fr.umontpellier.iut.rails.Plateau;
 
 public class GameServer {
     /**
@@ -26,8 +28,12 @@ public class GameServer {
     private static Jeu jeu;
 
     public static void main(String[] args) {
+        // Table des plus courts chemins du plateau, relue depuis le disque si elle a déjà été calculée
+        Plateau.chargerDistancesEurope(Path.of("target", "distances-europe.bin"));
+
         // Lancement de la partie
         jeu = new Jeu(new String[]{"Guybrush", "Largo", "LeChuck", "Elaine"});
+        jeu.setAffichage(GameServer::setEtatJeu);
 
         // Prépare le serveur websocket
         Server server = new Server("localhost", 3232, "/", WebSocketClient.class);
@@ -0,0 +1,257 @@
+package fr.umontpellier.iut.rails;
+
+import fr.umontpellier.iut.graphes.AnalyseGraphe;
+import fr.umontpellier.iut.graphes.Graphe;
+import fr.umontpellier.iut.graphes.UnionFind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Choix optimal des routes empruntées par les gares d'un joueur en fin de partie
+ * <p>
+ * Chaque gare permet au joueur d'utiliser, pour ses destinations uniquement, une route d'un adversaire
+ * arrivant dans la ville de la gare. On cherche le choix (au plus une route par gare) qui maximise la somme
+ * des destinations réalisées moins celle des destinations échouées.
+ * <p>
+ * La recherche ne travaille que sur les classes de connexité du réseau du joueur :
+ * <ul>
+ *     <li>une route dont les deux extrémités sont déjà dans la même classe est inutile ;</li>
+ *     <li>deux routes d'une même gare qui mènent à la même classe sont équivalentes (on n'en garde qu'une) ;</li>
+ *     <li>une route qui mène à une classe sans extrémité de destination non réalisée, sans gare et qu'aucune
+ *     autre gare ne peut atteindre ne change aucune destination (elle est écartée).</li>
+ * </ul>
+ * Les combinaisons restantes (au plus le produit des choix des trois gares) sont évaluées en parallèle
+ * lorsqu'elles sont assez nombreuses.
+ */
+public class AffectationGares {
+    /**
+     * Nombre de combinaisons à partir duquel l'évaluation est faite en parallèle
+     */
+    private static final int SEUIL_PARALLELE = 256;
+
+    /**
+     * Route empruntée par chaque gare (les gares qui n'empruntent rien ne figurent pas dans la table)
+     */
+    private final Map<Ville, Route> routesEmpruntees;
+    /**
+     * Somme des valeurs des destinations réalisées moins celle des destinations échouées
+     */
+    private final int scoreDestinations;
+    /**
+     * Nombre de destinations réalisées
+     */
+    private final int nbDestinationsRealisees;
+
+    /**
+     * Calcule l'affectation optimale des gares d'un joueur dans l'état actuel de sa partie
+     *
+     * @param joueur le joueur
+     * @return l'affectation optimale de ses gares
+     */
+    public static AffectationGares calculer(Joueur joueur) {
+        Jeu jeu = joueur.getJeu();
+        List<Ville> gares = new ArrayList<>();
+        for (Ville ville : jeu.getVilles()) {
+            if (ville.getProprietaire() == joueur) {
+                gares.add(ville);
+            }
+        }
+        return new AffectationGares(joueur.getReseau(), gares, jeu.getRoutesIncidentes(),
+                joueur.getDestinations(), r -> r.getProprietaire() != null && r.getProprietaire() != joueur);
+    }
+
+    /**
+     * Calcule l'affectation optimale des gares
+     *
+     * @param reseau           le réseau des routes du joueur
+     * @param gares            les villes sur lesquelles le joueur a construit une gare
+     * @param routesIncidentes pour chaque ville, les routes dont elle est une extrémité
+     * @param destinations     les destinations du joueur
+     * @param empruntable      indique si une route peut être empruntée par une gare (route d'un adversaire)
+     */
+    public AffectationGares(ReseauJoueur reseau, List<Ville> gares, Map<Ville, List<Route>> routesIncidentes,
+                            List<Destination> destinations, Predicate<Route> empruntable) {
+        this(reseau.getGrapheRoutes().getGraphe(), gares, routesIncidentes, destinations, empruntable);
+    }
+
+    /**
+     * Calcule l'affectation optimale des gares à partir du graphe des routes du joueur
+     *
+     * @param reseau           graphe dont les sommets sont les identifiants des villes et les arêtes les routes
+     *                         du joueur
+     * @param gares            les villes sur lesquelles le joueur a construit une gare
+     * @param routesIncidentes pour chaque ville, les routes dont elle est une extrémité
+     * @param destinations     les destinations du joueur
+     * @param empruntable      indique si une route peut être empruntée par une gare (route d'un adversaire)
+     */
+    public AffectationGares(Graphe reseau, List<Ville> gares, Map<Ville, List<Route>> routesIncidentes,
+                            List<Destination> destinations, Predicate<Route> empruntable) {
+        AnalyseGraphe analyse = reseau.analyser();
+        int nbClasses = analyse.nbCC();
+
+        // destinations déjà réalisées et destinations encore ouvertes (données par les classes de leurs villes)
+        int base = 0;
+        int nbRealisees = 0;
+        int nbOuvertes = 0;
+        int[] classes1 = new int[destinations.size()];
+        int[] classes2 = new int[destinations.size()];
+        int[] valeurs = new int[destinations.size()];
+        boolean[] utile = new boolean[nbClasses];
+        for (Destination d : destinations) {
+            int c1 = analyse.classe(d.getIdVille1());
+            int c2 = analyse.classe(d.getIdVille2());
+            if (c1 == c2) {
+                base += d.getValeur();
+                nbRealisees++;
+            } else {
+                classes1[nbOuvertes] = c1;
+                classes2[nbOuvertes] = c2;
+                valeurs[nbOuvertes] = d.getValeur();
+                base -= d.getValeur();
+                nbOuvertes++;
+                utile[c1] = true;
+                utile[c2] = true;
+            }
+        }
+
+        // routes candidates de chaque gare, au plus une par classe d'arrivée
+        List<List<Route>> candidats = new ArrayList<>();
+        List<int[]> arrivees = new ArrayList<>();
+        int[] atteintes = new int[nbClasses];
+        if (nbOuvertes > 0) {
+            for (Ville gare : gares) {
+                utile[analyse.classe(gare.getId())] = true;
+            }
+            for (Ville gare : gares) {
+                int depart = analyse.classe(gare.getId());
+                Map<Integer, Route> parClasse = new LinkedHashMap<>();
+                for (Route route : routesIncidentes.getOrDefault(gare, Collections.emptyList())) {
+                    if (!empruntable.test(route)) {
+                        continue;
+                    }
+                    Ville autre = route.getVille1() == gare ? route.getVille2() : route.getVille1();
+                    int arrivee = analyse.classe(autre.getId());
+                    if (arrivee != depart) {
+                        parClasse.putIfAbsent(arrivee, route);
+                    }
+                }
+                for (int c : parClasse.keySet()) {
+                    atteintes[c]++;
+                }
+                candidats.add(new ArrayList<>(parClasse.values()));
+                arrivees.add(parClasse.keySet().stream().mapToInt(Integer::intValue).toArray());
+            }
+            // une classe atteinte par deux gares peut servir de relais entre elles
+            for (int c = 0; c < nbClasses; c++) {
+                if (atteintes[c] >= 2) {
+                    utile[c] = true;
+                }
+            }
+            for (int i = 0; i < candidats.size(); i++) {
+                List<Route> routes = candidats.get(i);
+                int[] classesArrivee = arrivees.get(i);
+                List<Route> gardees = new ArrayList<>();
+                List<Integer> classesGardees = new ArrayList<>();
+                for (int k = 0; k < routes.size(); k++) {
+                    if (utile[classesArrivee[k]]) {
+                        gardees.add(routes.get(k));
+                        classesGardees.add(classesArrivee[k]);
+                    }
+                }
+                candidats.set(i, gardees);
+                arrivees.set(i, classesGardees.stream().mapToInt(Integer::intValue).toArray());
+            }
+        }
+
+        // énumération des combinaisons (une gare sans candidat n'emprunte rien)
+        int nbGares = candidats.size();
+        int[] departs = new int[nbGares];
+        int[] nbChoix = new int[nbGares];
+        int total = 1;
+        for (int i = 0; i < nbGares; i++) {
+            departs[i] = analyse.classe(gares.get(i).getId());
+            nbChoix[i] = Math.max(1, candidats.get(i).size());
+            total *= nbChoix[i];
+        }
+        int[] gains = new int[total];
+        int[] nbGagnees = new int[total];
+        if (nbOuvertes > 0) {
+            final int nbDestinations = nbOuvertes;
+            IntStream indices = IntStream.range(0, total);
+            if (total >= SEUIL_PARALLELE) {
+                indices = indices.parallel();
+            }
+            indices.forEach(combinaison -> {
+                UnionFind uf = new UnionFind(nbClasses);
+                int reste = combinaison;
+                for (int i = 0; i < nbGares; i++) {
+                    int k = reste % nbChoix[i];
+                    reste /= nbChoix[i];
+                    if (arrivees.get(i).length > 0) {
+                        uf.unir(departs[i], arrivees.get(i)[k]);
+                    }
+                }
+                int gain = 0;
+                int nb = 0;
+                for (int d = 0; d < nbDestinations; d++) {
+                    if (uf.memeClasse(classes1[d], classes2[d])) {
+                        // la destination passe d'échouée à réalisée
+                        gain += 2 * valeurs[d];
+                        nb++;
+                    }
+                }
+                gains[combinaison] = gain;
+                nbGagnees[combinaison] = nb;
+            });
+        }
+        int meilleure = 0;
+        for (int combinaison = 1; combinaison < total; combinaison++) {
+            if (gains[combinaison] > gains[meilleure]) {
+                meilleure = combinaison;
+            }
+        }
+
+        routesEmpruntees = new HashMap<>();
+        if (gains[meilleure] > 0) {
+            int reste = meilleure;
+            for (int i = 0; i < nbGares; i++) {
+                int k = reste % nbChoix[i];
+                reste /= nbChoix[i];
+                if (!candidats.get(i).isEmpty()) {
+                    routesEmpruntees.put(gares.get(i), candidats.get(i).get(k));
+                }
+            }
+        }
+        scoreDestinations = base + gains[meilleure];
+        nbDestinationsRealisees = nbRealisees + nbGagnees[meilleure];
+    }
+
+    /**
+     * @return la route empruntée par chaque gare (les gares sans route utile à emprunter n'apparaissent pas)
+     */
+    public Map<Ville, Route> getRoutesEmpruntees() {
+        return routesEmpruntees;
+    }
+
+    /**
+     * @return la somme des valeurs des destinations réalisées moins celle des destinations échouées,
+     * en tenant compte des routes empruntées par les gares
+     */
+    public int getScoreDestinations() {
+        return scoreDestinations;
+    }
+
+    /**
+     * @return le nombre de destinations réalisées, en tenant compte des routes empruntées par les gares
+     */
+    public int getNbDestinationsRealisees() {
+        return nbDestinationsRealisees;
+    }
+}
@@ -29,8 +29,19 @@ public enum CouleurWagon {
         };
     }
 
+    /**
+     * Représentations HTML des couleurs (indexées par {@link #ordinal()}), construites une seule fois
+     */
+    private static final String[] LOGS = new String[values().length];
+
+    static {
+        for (CouleurWagon c : values()) {
+            LOGS[c.ordinal()] = String.format("<img class=\"couleur\" src=\"images/symbole-%s.png\"><span class=\"couleur %s\">%s</span>", c.name(), c.name().toLowerCase(), c);
+        }
+    }
+
     public String toLog() {
-        return String.format("<img class=\"couleur\" src=\"images/symbole-%s.png\"><span class=\"couleur %s\">%s</span>", name(), name().toLowerCase(), this);
+        return LOGS[ordinal()];
     }
 
     /**
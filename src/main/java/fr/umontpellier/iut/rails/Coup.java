@@ -0,0 +1,130 @@
+package fr.umontpellier.iut.rails;
+
+/**
+ * Description compacte d'une action qu'un joueur peut choisir au début de son tour : un type d'action et
+ * l'identifiant de son objet (route, ville ou couleur de carte)
+ * <p>
+ * Les coups sont produits par {@link Joueur#coupsPossibles()} et exécutés par {@link Joueur#jouerCoup(Coup)} ;
+ * l'interface textuelle ne fait que les traduire en options ({@link #getOption(Jeu)}).
+ */
+public final class Coup {
+    public enum Type {
+        /**
+         * Piocher des cartes destination
+         */
+        DESTINATIONS,
+        /**
+         * Prendre une carte wagon visible (l'identifiant est l'ordinal de sa couleur)
+         */
+        CARTE_VISIBLE,
+        /**
+         * Piocher une carte wagon face cachée
+         */
+        CARTE_PIOCHE,
+        /**
+         * Capturer une route (l'identifiant est celui de la route)
+         */
+        ROUTE,
+        /**
+         * Construire une gare (l'identifiant est celui de la ville)
+         */
+        GARE,
+        /**
+         * Passer son tour
+         */
+        PASSER
+    }
+
+    public static final Coup DESTINATIONS = new Coup(Type.DESTINATIONS, -1);
+    public static final Coup CARTE_PIOCHE = new Coup(Type.CARTE_PIOCHE, -1);
+    public static final Coup PASSER = new Coup(Type.PASSER, -1);
+
+    private static final CouleurWagon[] COULEURS = CouleurWagon.values();
+    private static final Coup[] CARTES_VISIBLES = new Coup[COULEURS.length];
+    /**
+     * Coups de capture et de gare partagés pour les identifiants inférieurs à cette borne (largement
+     * au-dessus du nombre de routes et de villes du plateau Europe), les autres sont construits à la demande
+     */
+    private static final int NB_IDENTIFIANTS_PARTAGES = 256;
+    private static final Coup[] ROUTES = new Coup[NB_IDENTIFIANTS_PARTAGES];
+    private static final Coup[] GARES = new Coup[NB_IDENTIFIANTS_PARTAGES];
+
+    static {
+        for (CouleurWagon c : COULEURS) {
+            CARTES_VISIBLES[c.ordinal()] = new Coup(Type.CARTE_VISIBLE, c.ordinal());
+        }
+        for (int id = 0; id < NB_IDENTIFIANTS_PARTAGES; id++) {
+            ROUTES[id] = new Coup(Type.ROUTE, id);
+            GARES[id] = new Coup(Type.GARE, id);
+        }
+    }
+
+    private final Type type;
+    private final int id;
+
+    private Coup(Type type, int id) {
+        this.type = type;
+        this.id = id;
+    }
+
+    public static Coup carteVisible(CouleurWagon couleur) {
+        return CARTES_VISIBLES[couleur.ordinal()];
+    }
+
+    public static Coup route(Route route) {
+        int id = route.getId();
+        return id >= 0 && id < NB_IDENTIFIANTS_PARTAGES ? ROUTES[id] : new Coup(Type.ROUTE, id);
+    }
+
+    public static Coup gare(Ville ville) {
+        int id = ville.getId();
+        return id >= 0 && id < NB_IDENTIFIANTS_PARTAGES ? GARES[id] : new Coup(Type.GARE, id);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return l'identifiant de la route, de la ville ou de la couleur concernée (-1 pour les autres coups)
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return la couleur de la carte visible prise
+     */
+    public CouleurWagon getCouleur() {
+        return COULEURS[id];
+    }
+
+    /**
+     * @return l'option correspondant au coup dans l'interface textuelle (voir {@link Joueur#jouerTour()})
+     */
+    public String getOption(Jeu jeu) {
+        return switch (type) {
+            case DESTINATIONS -> "destinations";
+            case CARTE_VISIBLE -> getCouleur().name();
+            case CARTE_PIOCHE -> CouleurWagon.GRIS.name();
+            case ROUTE -> jeu.getRoutes().get(id).getNom();
+            case GARE -> jeu.getVilles().get(id).getNom();
+            case PASSER -> "";
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Coup && ((Coup) o).type == type && ((Coup) o).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + id;
+    }
+
+    @Override
+    public String toString() {
+        return id < 0 ? type.name() : type.name() + "(" + id + ")";
+    }
+}
@@ -0,0 +1,232 @@
+package fr.umontpellier.iut.rails;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static fr.umontpellier.iut.graphes.PlusCourtsChemins.INFINI;
+
+/**
+ * Nombre de wagons qu'il manque à chaque joueur pour réaliser chacune de ses destinations, compte tenu des
+ * propriétaires actuels des routes
+ * <p>
+ * Pour un joueur, une route qu'il possède ne coûte rien, une route libre coûte sa longueur et une route
+ * d'un adversaire est infranchissable (les gares ne sont pas prises en compte). Les coûts sont donnés par
+ * des recherches de Dijkstra, une par ville de départ de destination et par joueur : les routes du joueur
+ * étant de poids nul, la recherche part en fait de toute la partie de son réseau qui contient la ville.
+ * <p>
+ * Les arbres de recherche sont conservés et mis à jour à chaque changement de propriétaire d'une route :
+ * <ul>
+ *     <li>si la route devient moins chère pour un joueur, les distances améliorées sont propagées à partir
+ *     de ses extrémités ;</li>
+ *     <li>si elle devient plus chère ou infranchissable, seuls les arbres qui l'utilisent sont recalculés
+ *     (à la demande suivante).</li>
+ * </ul>
+ */
+public class CoutsDestinations {
+    private final Jeu jeu;
+    /**
+     * Routes dont chaque ville est une extrémité (indexées par les identifiants des villes)
+     */
+    private final Route[][] incidentes;
+    /**
+     * Arbres de recherche de chaque joueur, indexés par l'identifiant de leur ville de départ
+     */
+    private final Map<Joueur, Map<Integer, Arbre>> arbres = new IdentityHashMap<>();
+    /**
+     * Tas binaire des sommets à traiter, codés par (distance << 32 | sommet) ; un sommet peut y figurer
+     * plusieurs fois, seule son entrée la plus récente est traitée
+     */
+    private long[] tas = new long[64];
+    private int taille;
+
+    /**
+     * Arbre des plus courts chemins d'un joueur depuis une ville
+     */
+    private static final class Arbre {
+        private final int[] distances;
+        /**
+         * Identifiant de la route par laquelle chaque ville est atteinte (-1 pour le départ et les villes
+         * non atteintes)
+         */
+        private final int[] routesArrivee;
+        private boolean aJour;
+
+        private Arbre(int nbVilles) {
+            distances = new int[nbVilles];
+            routesArrivee = new int[nbVilles];
+        }
+    }
+
+    public CoutsDestinations(Jeu jeu) {
+        this.jeu = jeu;
+        List<Ville> villes = jeu.getVilles();
+        incidentes = new Route[villes.size()][];
+        for (Ville ville : villes) {
+            incidentes[ville.getId()] = jeu.getRoutesIncidentes().getOrDefault(ville, new ArrayList<>())
+                    .toArray(new Route[0]);
+        }
+    }
+
+    /**
+     * @param joueur      un joueur
+     * @param destination une destination
+     * @return le nombre de wagons qu'il manque au joueur pour relier les villes de la destination
+     * ({@link fr.umontpellier.iut.graphes.PlusCourtsChemins#INFINI} si les routes des adversaires l'en empêchent)
+     */
+    public synchronized int getCout(Joueur joueur, Destination destination) {
+        int depart = destination.getIdVille1();
+        int arrivee = destination.getIdVille2();
+        if (depart < 0 || arrivee < 0) {
+            return INFINI;
+        }
+        return getArbre(joueur, depart).distances[arrivee];
+    }
+
+    /**
+     * @param joueur un joueur
+     * @return le coût de chacune des destinations du joueur, dans l'ordre de {@link Joueur#getDestinations()}
+     */
+    public synchronized int[] getCouts(Joueur joueur) {
+        List<Destination> destinations = joueur.getDestinations();
+        int[] couts = new int[destinations.size()];
+        for (int i = 0; i < couts.length; i++) {
+            couts[i] = getCout(joueur, destinations.get(i));
+        }
+        return couts;
+    }
+
+    /**
+     * @return le coût de chacune des destinations de chaque joueur, dans l'ordre de {@link Jeu#getJoueurs()}
+     */
+    public synchronized List<int[]> getCouts() {
+        List<int[]> couts = new ArrayList<>();
+        for (Joueur joueur : jeu.getJoueurs()) {
+            couts.add(getCouts(joueur));
+        }
+        return couts;
+    }
+
+    /**
+     * Met à jour les arbres après le changement de propriétaire d'une route
+     *
+     * @param route  la route (son nouveau propriétaire est déjà enregistré)
+     * @param ancien son propriétaire précédent (null si elle était libre)
+     */
+    synchronized void proprietaireModifie(Route route, Joueur ancien) {
+        int u = route.getVille1().getId();
+        int v = route.getVille2().getId();
+        for (Map.Entry<Joueur, Map<Integer, Arbre>> entree : arbres.entrySet()) {
+            Joueur joueur = entree.getKey();
+            int avant = poids(route, ancien, joueur);
+            int apres = poids(route, route.getProprietaire(), joueur);
+            for (Arbre arbre : entree.getValue().values()) {
+                if (!arbre.aJour) {
+                    continue;
+                }
+                if (apres < avant) {
+                    taille = 0;
+                    relacher(arbre, u, v, apres, route.getId());
+                    relacher(arbre, v, u, apres, route.getId());
+                    propager(joueur, arbre);
+                } else if (apres > avant
+                        && (arbre.routesArrivee[u] == route.getId() || arbre.routesArrivee[v] == route.getId())) {
+                    arbre.aJour = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return le coût de la route pour le joueur lorsqu'elle appartient au propriétaire indiqué
+     */
+    private static int poids(Route route, Joueur proprietaire, Joueur joueur) {
+        if (proprietaire == joueur) {
+            return 0;
+        }
+        return proprietaire == null ? route.getLongueur() : INFINI;
+    }
+
+    private Arbre getArbre(Joueur joueur, int depart) {
+        Map<Integer, Arbre> parDepart = arbres.computeIfAbsent(joueur, j -> new HashMap<>());
+        Arbre arbre = parDepart.computeIfAbsent(depart, d -> new Arbre(incidentes.length));
+        if (!arbre.aJour) {
+            Arrays.fill(arbre.distances, INFINI);
+            Arrays.fill(arbre.routesArrivee, -1);
+            arbre.distances[depart] = 0;
+            taille = 0;
+            empiler(0, depart);
+            propager(joueur, arbre);
+            arbre.aJour = true;
+        }
+        return arbre;
+    }
+
+    /**
+     * Améliore la distance de v en passant par u et une route de poids p, si c'est possible
+     */
+    private void relacher(Arbre arbre, int u, int v, int p, int idRoute) {
+        int du = arbre.distances[u];
+        if (p != INFINI && du != INFINI && du + p < arbre.distances[v]) {
+            arbre.distances[v] = du + p;
+            arbre.routesArrivee[v] = idRoute;
+            empiler(du + p, v);
+        }
+    }
+
+    /**
+     * Recherche de Dijkstra à partir des sommets du tas, dont les distances sont déjà à jour
+     */
+    private void propager(Joueur joueur, Arbre arbre) {
+        while (taille > 0) {
+            long x = depiler();
+            int d = (int) (x >>> 32);
+            int u = (int) x;
+            if (d > arbre.distances[u]) {
+                continue;
+            }
+            for (Route route : incidentes[u]) {
+                int v = route.getVille1().getId() == u ? route.getVille2().getId() : route.getVille1().getId();
+                relacher(arbre, u, v, poids(route, route.getProprietaire(), joueur), route.getId());
+            }
+        }
+    }
+
+    private void empiler(int distance, int sommet) {
+        if (taille == tas.length) {
+            tas = Arrays.copyOf(tas, 2 * taille);
+        }
+        long x = ((long) distance << 32) | sommet;
+        int i = taille++;
+        while (i > 0 && tas[(i - 1) >>> 1] > x) {
+            tas[i] = tas[(i - 1) >>> 1];
+            i = (i - 1) >>> 1;
+        }
+        tas[i] = x;
+    }
+
+    private long depiler() {
+        long min = tas[0];
+        long x = tas[--taille];
+        int i = 0;
+        while (true) {
+            int fils = 2 * i + 1;
+            if (fils >= taille) {
+                break;
+            }
+            if (fils + 1 < taille && tas[fils + 1] < tas[fils]) {
+                fils++;
+            }
+            if (tas[fils] >= x) {
+                break;
+            }
+            tas[i] = tas[fils];
+            i = fils;
+        }
+        tas[i] = x;
+        return min;
+    }
+}
@@ -2,6 +2,7 @@ package fr.umontpellier.iut.rails;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.function.ToIntFunction;
 
 public class Destination {
     /**
@@ -16,21 +17,86 @@ public class Destination {
      * Nombre de points que vaut la destination
      */
     private int valeur;
+    /**
+     * Identifiants des deux villes dans le plateau de la destination
+     */
+    private final int idVille1;
+    private final int idVille2;
+    /**
+     * Nom de la destination (construit au premier appel de {@link #getNom()})
+     */
+    private String nom;
 
+    /**
+     * Construit une destination entre deux villes du plateau Europe
+     *
+     * @throws IllegalArgumentException si l'une des villes n'est pas sur le plateau Europe
+     */
     public Destination(String ville1, String ville2, int valeur) {
+        this(ville1, ville2, valeur, Plateau::getIdVilleEurope);
+    }
+
+    /**
+     * Construit une destination entre deux villes du plateau indiqué
+     *
+     * @throws IllegalArgumentException si l'une des villes n'est pas sur le plateau
+     */
+    public Destination(String ville1, String ville2, int valeur, Plateau plateau) {
+        this(ville1, ville2, valeur, plateau::getIdVille);
+    }
+
+    private Destination(String ville1, String ville2, int valeur, ToIntFunction<String> ids) {
         this.ville1 = ville1;
         this.ville2 = ville2;
         this.valeur = valeur;
+        this.idVille1 = idVille(ville1, ids);
+        this.idVille2 = idVille(ville2, ids);
+    }
+
+    private static int idVille(String nom, ToIntFunction<String> ids) {
+        int id = ids.applyAsInt(nom);
+        if (id < 0) {
+            throw new IllegalArgumentException("La ville " + nom + " n'est pas sur le plateau");
+        }
+        return id;
+    }
+
+    public String getVille1() {
+        return ville1;
+    }
+
+    public String getVille2() {
+        return ville2;
+    }
+
+    public int getValeur() {
+        return valeur;
+    }
+
+    /**
+     * @return l'identifiant de la ville de départ (voir {@link Ville#getId()})
+     */
+    public int getIdVille1() {
+        return idVille1;
+    }
+
+    /**
+     * @return l'identifiant de la ville d'arrivée (voir {@link Ville#getId()})
+     */
+    public int getIdVille2() {
+        return idVille2;
     }
 
-    
     @Override
     public String toString() {
         return getNom();
     }
 
     public String getNom() {
-        return String.format("%s - %s (%d)", ville1, ville2, valeur);
+        if (nom == null) {
+            nom = ville1 + " - " + ville2 + " (" + valeur + ")";
+        }
+        return nom;
     }
 
     public Object asPOJO() {
@@ -45,47 +111,59 @@ public class Destination {
      * @return une liste contenant toutes les destinations "normales" du jeu
      */
     public static ArrayList<Destination> makeDestinationsEurope() {
+        return makeDestinationsEurope(Plateau::getIdVilleEurope);
+    }
+
+    /**
+     * @param plateau le plateau Europe d'une partie
+     * @return une liste contenant toutes les destinations "normales" du jeu, sur ce plateau
+     */
+    public static ArrayList<Destination> makeDestinationsEurope(Plateau plateau) {
+        return makeDestinationsEurope(plateau::getIdVille);
+    }
+
+    private static ArrayList<Destination> makeDestinationsEurope(ToIntFunction<String> ids) {
         ArrayList<Destination> destinations = new ArrayList<>();
-        destinations.add(new Destination("Athina", "Angora", 5));
-        destinations.add(new Destination("Budapest", "Sofia", 5));
-        destinations.add(new Destination("Frankfurt", "Kobenhavn", 5));
-        destinations.add(new Destination("Rostov", "Erzurum", 5));
-        destinations.add(new Destination("Sofia", "Smyrna", 5));
-        destinations.add(new Destination("Kyiv", "Petrograd", 6));
-        destinations.add(new Destination("Zurich", "Brindisi", 6));
-        destinations.add(new Destination("Zurich", "Budapest", 6));
-        destinations.add(new Destination("Warszawa", "Smolensk", 6));
-        destinations.add(new Destination("Zagrab", "Brindisi", 6));
-        destinations.add(new Destination("Paris", "Zagrab", 7));
-        destinations.add(new Destination("Brest", "Marseille", 7));
-        destinations.add(new Destination("London", "Berlin", 7));
-        destinations.add(new Destination("Edinburgh", "Paris", 7));
-        destinations.add(new Destination("Amsterdam", "Pamplona", 7));
-        destinations.add(new Destination("Roma", "Smyrna", 8));
-        destinations.add(new Destination("Palermo", "Constantinople", 8));
-        destinations.add(new Destination("Sarajevo", "Sevastopol", 8));
-        destinations.add(new Destination("Madrid", "Dieppe", 8));
-        destinations.add(new Destination("Barcelona", "Bruxelles", 8));
-        destinations.add(new Destination("Paris", "Wien", 8));
-        destinations.add(new Destination("Barcelona", "Munchen", 8));
-        destinations.add(new Destination("Brest", "Venezia", 8));
-        destinations.add(new Destination("Smolensk", "Rostov", 8));
-        destinations.add(new Destination("Marseille", "Essen", 8));
-        destinations.add(new Destination("Kyiv", "Sochi", 8));
-        destinations.add(new Destination("Madrid", "Zurich", 8));
-        destinations.add(new Destination("Berlin", "Bucuresti", 8));
-        destinations.add(new Destination("Bruxelles", "Danzig", 9));
-        destinations.add(new Destination("Berlin", "Roma", 9));
-        destinations.add(new Destination("Angora", "Kharkov", 10));
-        destinations.add(new Destination("Riga", "Bucuresti", 10));
-        destinations.add(new Destination("Essen", "Kyiv", 10));
-        destinations.add(new Destination("Venezia", "Constantinople", 10));
-        destinations.add(new Destination("London", "Wien", 10));
-        destinations.add(new Destination("Athina", "Wilno", 11));
-        destinations.add(new Destination("Stockholm", "Wien", 11));
-        destinations.add(new Destination("Berlin", "Moskva", 12));
-        destinations.add(new Destination("Amsterdam", "Wilno", 12));
-        destinations.add(new Destination("Frankfurt", "Smolensk", 13));
+        destinations.add(new Destination("Athina", "Angora", 5, ids));
+        destinations.add(new Destination("Budapest", "Sofia", 5, ids));
+        destinations.add(new Destination("Frankfurt", "Kobenhavn", 5, ids));
+        destinations.add(new Destination("Rostov", "Erzurum", 5, ids));
+        destinations.add(new Destination("Sofia", "Smyrna", 5, ids));
+        destinations.add(new Destination("Kyiv", "Petrograd", 6, ids));
+        destinations.add(new Destination("Zurich", "Brindisi", 6, ids));
+        destinations.add(new Destination("Zurich", "Budapest", 6, ids));
+        destinations.add(new Destination("Warszawa", "Smolensk", 6, ids));
+        destinations.add(new Destination("Zagrab", "Brindisi", 6, ids));
+        destinations.add(new Destination("Paris", "Zagrab", 7, ids));
+        destinations.add(new Destination("Brest", "Marseille", 7, ids));
+        destinations.add(new Destination("London", "Berlin", 7, ids));
+        destinations.add(new Destination("Edinburgh", "Paris", 7, ids));
+        destinations.add(new Destination("Amsterdam", "Pamplona", 7, ids));
+        destinations.add(new Destination("Roma", "Smyrna", 8, ids));
+        destinations.add(new Destination("Palermo", "Constantinople", 8, ids));
+        destinations.add(new Destination("Sarajevo", "Sevastopol", 8, ids));
+        destinations.add(new Destination("Madrid", "Dieppe", 8, ids));
+        destinations.add(new Destination("Barcelona", "Bruxelles", 8, ids));
+        destinations.add(new Destination("Paris", "Wien", 8, ids));
+        destinations.add(new Destination("Barcelona", "Munchen", 8, ids));
+        destinations.add(new Destination("Brest", "Venezia", 8, ids));
+        destinations.add(new Destination("Smolensk", "Rostov", 8, ids));
+        destinations.add(new Destination("Marseille", "Essen", 8, ids));
+        destinations.add(new Destination("Kyiv", "Sochi", 8, ids));
+        destinations.add(new Destination("Madrid", "Zurich", 8, ids));
+        destinations.add(new Destination("Berlin", "Bucuresti", 8, ids));
+        destinations.add(new Destination("Bruxelles", "Danzig", 9, ids));
+        destinations.add(new Destination("Berlin", "Roma", 9, ids));
+        destinations.add(new Destination("Angora", "Kharkov", 10, ids));
+        destinations.add(new Destination("Riga", "Bucuresti", 10, ids));
+        destinations.add(new Destination("Essen", "Kyiv", 10, ids));
+        destinations.add(new Destination("Venezia", "Constantinople", 10, ids));
+        destinations.add(new Destination("London", "Wien", 10, ids));
+        destinations.add(new Destination("Athina", "Wilno", 11, ids));
+        destinations.add(new Destination("Stockholm", "Wien", 11, ids));
+        destinations.add(new Destination("Berlin", "Moskva", 12, ids));
+        destinations.add(new Destination("Amsterdam", "Wilno", 12, ids));
+        destinations.add(new Destination("Frankfurt", "Smolensk", 13, ids));
         return destinations;
     }
 
@@ -93,13 +171,25 @@ public class Destination {
      * @return une liste contenant toutes les destinations "longues" du jeu
      */
     public static ArrayList<Destination> makeDestinationsLonguesEurope() {
+        return makeDestinationsLonguesEurope(Plateau::getIdVilleEurope);
+    }
+
+    /**
+     * @param plateau le plateau Europe d'une partie
+     * @return une liste contenant toutes les destinations "longues" du jeu, sur ce plateau
+     */
+    public static ArrayList<Destination> makeDestinationsLonguesEurope(Plateau plateau) {
+        return makeDestinationsLonguesEurope(plateau::getIdVille);
+    }
+
+    private static ArrayList<Destination> makeDestinationsLonguesEurope(ToIntFunction<String> ids) {
         ArrayList<Destination> destinations = new ArrayList<>();
-        destinations.add(new Destination("Lisboa", "Danzig", 20));
-        destinations.add(new Destination("Brest", "Petrograd", 20));
-        destinations.add(new Destination("Palermo", "Moskva", 20));
-        destinations.add(new Destination("Kobenhavn", "Erzurum", 21));
-        destinations.add(new Destination("Edinburgh", "Athina", 21));
-        destinations.add(new Destination("Cadiz", "Stockholm", 21));
+        destinations.add(new Destination("Lisboa", "Danzig", 20, ids));
+        destinations.add(new Destination("Brest", "Petrograd", 20, ids));
+        destinations.add(new Destination("Palermo", "Moskva", 20, ids));
+        destinations.add(new Destination("Kobenhavn", "Erzurum", 21, ids));
+        destinations.add(new Destination("Edinburgh", "Athina", 21, ids));
+        destinations.add(new Destination("Cadiz", "Stockholm", 21, ids));
         return destinations;
     }
 }
@@ -0,0 +1,102 @@
+package fr.umontpellier.iut.rails;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Description d'une partie terminée, suffisante pour en calculer les scores
+ * <p>
+ * Les routes sont désignées par leur indice dans la liste des routes du plateau et les villes par leur
+ * identifiant : un état final ne référence aucun objet du jeu et peut être archivé, généré par une
+ * simulation ou partagé entre plusieurs fils de calcul.
+ */
+public class EtatFinal {
+    /**
+     * État final d'un joueur
+     */
+    public static class EtatJoueur {
+        private final int[] routes;
+        private final int[] gares;
+        private final List<Destination> destinations;
+        private final int nbGaresRestantes;
+
+        /**
+         * @param routes           indices (dans la liste des routes du plateau) des routes capturées
+         * @param gares            identifiants des villes sur lesquelles le joueur a construit une gare
+         * @param destinations     destinations du joueur
+         * @param nbGaresRestantes nombre de gares que le joueur n'a pas construites
+         */
+        public EtatJoueur(int[] routes, int[] gares, List<Destination> destinations, int nbGaresRestantes) {
+            this.routes = routes;
+            this.gares = gares;
+            this.destinations = Collections.unmodifiableList(new ArrayList<>(destinations));
+            this.nbGaresRestantes = nbGaresRestantes;
+        }
+
+        public int[] getRoutes() {
+            return routes;
+        }
+
+        public int[] getGares() {
+            return gares;
+        }
+
+        public List<Destination> getDestinations() {
+            return destinations;
+        }
+
+        public int getNbGaresRestantes() {
+            return nbGaresRestantes;
+        }
+    }
+
+    private final List<EtatJoueur> joueurs;
+
+    public EtatFinal(List<EtatJoueur> joueurs) {
+        this.joueurs = Collections.unmodifiableList(new ArrayList<>(joueurs));
+    }
+
+    public List<EtatJoueur> getJoueurs() {
+        return joueurs;
+    }
+
+    /**
+     * Décrit l'état actuel d'une partie
+     *
+     * @param jeu une partie (en général terminée)
+     * @return l'état de la partie, joueur par joueur dans l'ordre de {@link Jeu#getJoueurs()}
+     */
+    public static EtatFinal depuis(Jeu jeu) {
+        List<Joueur> joueurs = jeu.getJoueurs();
+        Map<Joueur, Integer> indices = new IdentityHashMap<>();
+        List<List<Integer>> routes = new ArrayList<>();
+        List<List<Integer>> gares = new ArrayList<>();
+        for (int i = 0; i < joueurs.size(); i++) {
+            indices.put(joueurs.get(i), i);
+            routes.add(new ArrayList<>());
+            gares.add(new ArrayList<>());
+        }
+        for (int r = 0; r < jeu.getRoutes().size(); r++) {
+            Integer i = indices.get(jeu.getRoutes().get(r).getProprietaire());
+            if (i != null) {
+                routes.get(i).add(r);
+            }
+        }
+        for (Ville ville : jeu.getVilles()) {
+            Integer i = indices.get(ville.getProprietaire());
+            if (i != null) {
+                gares.get(i).add(ville.getId());
+            }
+        }
+        List<EtatJoueur> etats = new ArrayList<>();
+        for (int i = 0; i < joueurs.size(); i++) {
+            etats.add(new EtatJoueur(routes.get(i).stream().mapToInt(Integer::intValue).toArray(),
+                    gares.get(i).stream().mapToInt(Integer::intValue).toArray(),
+                    joueurs.get(i).getDestinations(), joueurs.get(i).getNbGares()));
+        }
+        return new EtatFinal(etats);
+    }
+}
@@ -11,6 +11,16 @@ public class Ferry extends Route {
         this.nbLocomotives = nbLocomotives;
     }
 
+    private Ferry(Ferry modele, Ville ville1, Ville ville2) {
+        super(modele, ville1, ville2);
+        this.nbLocomotives = modele.nbLocomotives;
+    }
+
+    @Override
+    Route copier(Ville ville1, Ville ville2) {
+        return new Ferry(this, ville1, ville2);
+    }
+
     @Override
     public String toString() {
         return String.format("[%s - %s (%d, %s, %d)]", getVille1(), getVille2(), getLongueur(), getCouleur(),
@@ -23,14 +33,19 @@ public class Ferry extends Route {
     }
 
     public boolean capturerParJoueur(Joueur joueur) {
-        joueur.log(joueur.toLog() + " capture le ferry " + toLog());
+        boolean affichage = !joueur.getJeu().estSansAffichage();
+        if (affichage) {
+            joueur.log(joueur.toLog() + " capture le ferry " + toLog());
+        }
         joueur.payerCartesWagon(
                 getLongueur() - nbLocomotives,
                 getCouleur(),
                 nbLocomotives,
-                String.format("Défaussez des cartes wagon pour capturer le ferry %s - %s.", getVille1().getNom(),
-                        getVille2().getNom()));
-        joueur.log("   ... défausse " + CouleurWagon.listToLog(joueur.getCartesWagonPosees()));
+                "Défaussez des cartes wagon pour capturer le ferry " + getVille1().getNom() + " - "
+                        + getVille2().getNom() + ".");
+        if (affichage) {
+            joueur.log("   ... défausse " + CouleurWagon.listToLog(joueur.getCartesWagonPosees()));
+        }
         joueur.defausserCartesWagonPosees();
         return true;
     }
@@ -0,0 +1,159 @@
+package fr.umontpellier.iut.rails;
+
+import fr.umontpellier.iut.graphes.Graphe;
+import fr.umontpellier.iut.graphes.Parcours;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multigraphe dont les sommets sont les villes du plateau et les arêtes des routes
+ * <p>
+ * Chaque route ajoutée devient une arête de longueur égale à celle de la route. Les routes doubles
+ * et les ferries parallèles (par exemple Dieppe - London) sont deux arêtes distinctes, et chaque
+ * identifiant d'arête du graphe permet de retrouver la route correspondante.
+ */
+public class GrapheRoutes {
+    /**
+     * Villes du plateau (la ville d'identifiant i est le sommet i du graphe)
+     */
+    private final List<Ville> villes;
+    /**
+     * Multigraphe des routes
+     */
+    private final Graphe graphe;
+    /**
+     * routesParArete.get(a) est la route correspondant à l'arête d'identifiant a
+     * (ou null si la route a été retirée)
+     */
+    private final ArrayList<Route> routesParArete;
+    /**
+     * Identifiant de l'arête correspondant à chaque route du graphe
+     */
+    private final Map<Route, Integer> aretesParRoute;
+
+    /**
+     * Construit le graphe (sans arête) dont les sommets sont les villes indiquées
+     *
+     * @param villes les villes d'un plateau (la ville d'indice i doit avoir pour identifiant i)
+     */
+    public GrapheRoutes(List<Ville> villes) {
+        for (int i = 0; i < villes.size(); i++) {
+            if (villes.get(i).getId() != i) {
+                throw new IllegalArgumentException("La ville " + villes.get(i) + " n'a pas l'identifiant " + i);
+            }
+        }
+        this.villes = villes;
+        this.graphe = Graphe.multigraphe(villes.size());
+        this.routesParArete = new ArrayList<>();
+        this.aretesParRoute = new HashMap<>();
+    }
+
+    /**
+     * Construit le graphe des routes possédées par un joueur
+     *
+     * @param jeu    le jeu auquel participe le joueur
+     * @param joueur le joueur dont on veut le réseau
+     * @return le graphe des villes du jeu et des routes capturées par le joueur
+     */
+    public static GrapheRoutes deJoueur(Jeu jeu, Joueur joueur) {
+        GrapheRoutes g = new GrapheRoutes(jeu.getVilles());
+        for (Route route : jeu.getRoutes()) {
+            if (route.getProprietaire() == joueur) {
+                g.ajouterRoute(route);
+            }
+        }
+        return g;
+    }
+
+    public Graphe getGraphe() {
+        return graphe;
+    }
+
+    /**
+     * @param ville une ville du plateau
+     * @return le sommet du graphe correspondant à la ville
+     */
+    public int getSommet(Ville ville) {
+        return ville.getId();
+    }
+
+    /**
+     * @param sommet un sommet du graphe
+     * @return la ville correspondant au sommet
+     */
+    public Ville getVille(int sommet) {
+        return villes.get(sommet);
+    }
+
+    /**
+     * @param arete l'identifiant d'une arête du graphe
+     * @return la route correspondant à l'arête (ou null si elle a été retirée)
+     */
+    public Route getRoute(int arete) {
+        return routesParArete.get(arete);
+    }
+
+    /**
+     * Ajoute une route au graphe (sans effet si elle y est déjà)
+     *
+     * @param route la route à ajouter
+     * @return l'identifiant de l'arête correspondant à la route
+     */
+    public int ajouterRoute(Route route) {
+        Integer existante = aretesParRoute.get(route);
+        if (existante != null) {
+            return existante;
+        }
+        int a = graphe.creerArete(getSommet(route.getVille1()), getSommet(route.getVille2()), route.getLongueur());
+        while (routesParArete.size() <= a) {
+            routesParArete.add(null);
+        }
+        routesParArete.set(a, route);
+        aretesParRoute.put(route, a);
+        return a;
+    }
+
+    /**
+     * Retire une route du graphe (sans effet si elle n'y est pas)
+     *
+     * @param route la route à retirer
+     */
+    public void retirerRoute(Route route) {
+        Integer a = aretesParRoute.remove(route);
+        if (a != null) {
+            graphe.supprimerAreteParId(a);
+            routesParArete.set(a, null);
+        }
+    }
+
+    /**
+     * @param route une route du plateau
+     * @return vrai si la route est dans le graphe
+     */
+    public boolean contient(Route route) {
+        return aretesParRoute.containsKey(route);
+    }
+
+    /**
+     * @param parcours un parcours du graphe
+     * @return les routes empruntées par le parcours, dans l'ordre
+     */
+    public List<Route> getRoutes(Parcours parcours) {
+        List<Route> res = new ArrayList<>();
+        for (int a : parcours.getAretes()) {
+            res.add(routesParArete.get(a));
+        }
+        return res;
+    }
+
+    /**
+     * @return la suite de routes la plus longue (en nombre de wagons) qui n'emprunte jamais deux fois
+     * la même route
+     */
+    public List<Route> plusLongueRoute() {
+        return getRoutes(graphe.calculerPlusLongParcours());
+    }
+}
@@ -1,14 +1,20 @@
 package fr.umontpellier.iut.rails;
 
 import com.google.gson.Gson;
-import fr.umontpellier.iut.gui.GameServer;
+import fr.umontpellier.iut.graphes.CacheParcours;
+import fr.umontpellier.iut.graphes.PlusCourtsChemins;
 
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class Jeu implements Runnable {
+    /**
+     * Points du bonus "European Express" attribués au(x) joueur(s) ayant le plus long chemin continu
+     */
+    public static final int BONUS_PLUS_LONG_CHEMIN = 10;
     /**
      * Liste des joueurs
      */
@@ -25,18 +31,30 @@ public class Jeu implements Runnable {
      * Liste des routes du plateau de jeu
      */
     private List<Route> routes;
+    /**
+     * Plateau de la partie (les identifiants des villes des destinations sont ceux de ce plateau)
+     */
+    private Plateau plateau;
+    /**
+     * Routes ayant chaque ville pour extrémité
+     */
+    private Map<Ville, List<Route>> routesIncidentes;
     /**
      * Pile de pioche (face cachée)
      */
-    private List<CouleurWagon> pileCartesWagon;
+    private PaquetCartesWagon pileCartesWagon;
     /**
      * Cartes de la pioche face visible (normalement il y a 5 cartes face visible)
      */
-    private List<CouleurWagon> cartesWagonVisibles;
+    private PaquetCartesWagon cartesWagonVisibles;
     /**
      * Pile de cartes qui ont été défaussée au cours de la partie
      */
-    private List<CouleurWagon> defausseCartesWagon;
+    private PaquetCartesWagon defausseCartesWagon;
+    /**
+     * Générateur utilisé pour mélanger les cartes (et les couleurs des joueurs)
+     */
+    private final Random aleatoire;
     /**
      * Pile des cartes "Destination" (uniquement les destinations "courtes", les
      * destinations "longues" sont distribuées au début de la partie et ne peuvent
@@ -51,21 +69,87 @@ public class Jeu implements Runnable {
      * Messages d'information du jeu
      */
     private List<String> log;
+    /**
+     * Destinataire de l'état de la partie (au format JSON) envoyé à chaque {@link #prompt} ; par défaut
+     * l'état n'est envoyé nulle part (le serveur de jeu installe le sien)
+     */
+    private Consumer<String> affichage = etat -> {
+    };
+    /**
+     * Calcul en tâche de fond des scores provisoires affichés pendant la partie
+     */
+    private ProjectionScores projectionScores;
+    /**
+     * Plus courts chemins entre toutes les villes du plateau (indexés par les identifiants des villes)
+     */
+    private PlusCourtsChemins distances;
+    /**
+     * Nombre de wagons qu'il manque à chaque joueur pour chacune de ses destinations
+     */
+    private CoutsDestinations coutsDestinations;
+    /**
+     * Cache des plus longs parcours utilisé par les réseaux des joueurs (null : pas de cache)
+     */
+    private CacheParcours cacheParcours;
+    /**
+     * Routes sans propriétaire et villes sans gare (indexées par leurs identifiants), tenues à jour à chaque
+     * capture ou construction
+     */
+    private BitSet routesLibres;
+    private BitSet villesLibres;
+    /**
+     * Vrai pour une partie simulée : ni affichage, ni état envoyé à l'interface, ni log, ni scores provisoires
+     * (tous les joueurs doivent alors avoir une stratégie)
+     */
+    private boolean sansAffichage;
+    /**
+     * Nombre maximal de tours de la boucle principale (au-delà, on passe directement au dernier tour)
+     */
+    private int nbToursMax = Integer.MAX_VALUE;
+    /**
+     * Nombre de tours joués dans la boucle principale
+     */
+    private int nbTours;
 
     public Jeu(String[] nomJoueurs) {
+        this(nomJoueurs, new Random());
+    }
+
+    /**
+     * Construit une partie dont les mélanges sont déterminés par une graine : deux parties construites avec
+     * la même graine et jouées avec les mêmes décisions se déroulent à l'identique
+     *
+     * @param nomJoueurs les noms des joueurs
+     * @param graine     la graine du générateur utilisé pour les mélanges
+     */
+    public Jeu(String[] nomJoueurs, long graine) {
+        this(nomJoueurs, new Random(graine));
+    }
+
+    private Jeu(String[] nomJoueurs, Random aleatoire) {
+        this.aleatoire = aleatoire;
+
         // initialisation des entrées/sorties
         inputQueue = new LinkedBlockingQueue<>();
         log = new ArrayList<>();
+        projectionScores = new ProjectionScores(this);
 
         // création des villes et des routes
-        Plateau plateau = Plateau.makePlateauEurope();
+        plateau = Plateau.makePlateauEurope();
         villes = plateau.getVilles();
         routes = plateau.getRoutes();
+        routesIncidentes = plateau.getRoutesIncidentes();
+        distances = Plateau.getDistancesEurope();
+        coutsDestinations = new CoutsDestinations(this);
+        routesLibres = new BitSet(routes.size());
+        routesLibres.set(0, routes.size());
+        villesLibres = new BitSet(villes.size());
+        villesLibres.set(0, villes.size());
 
         // création des piles de pioche, cartes face visible et défausse
-        pileCartesWagon = new ArrayList<>();
-        cartesWagonVisibles = new ArrayList<>();
-        defausseCartesWagon = new ArrayList<>();
+        pileCartesWagon = new PaquetCartesWagon();
+        cartesWagonVisibles = new PaquetCartesWagon();
+        defausseCartesWagon = new PaquetCartesWagon();
         for (CouleurWagon c : CouleurWagon.getCouleursSimples()) {
             for (int i = 0; i < 12; i++)
                 pileCartesWagon.add(c);
@@ -73,16 +157,16 @@ public class Jeu implements Runnable {
         for (int i = 0; i < 14; i++) {
             pileCartesWagon.add(CouleurWagon.LOCOMOTIVE);
         }
-        Collections.shuffle(pileCartesWagon);
+        pileCartesWagon.melanger(aleatoire);
         remplirCartesWagonVisibles();
 
         // création des destinations
-        pileDestinations = Destination.makeDestinationsEurope();
-        Collections.shuffle(pileDestinations);
+        pileDestinations = Destination.makeDestinationsEurope(plateau);
+        Collections.shuffle(pileDestinations, aleatoire);
 
         // création des joueurs
         ArrayList<Joueur.Couleur> couleurs = new ArrayList<>(Arrays.asList(Joueur.Couleur.values()));
-        Collections.shuffle(couleurs);
+        Collections.shuffle(couleurs, aleatoire);
         joueurs = new ArrayList<>();
         for (String nomJoueur : nomJoueurs) {
             Joueur j = new Joueur(nomJoueur, this, couleurs.remove(0));
@@ -94,6 +178,127 @@ public class Jeu implements Runnable {
         this.joueurCourant = joueurs.get(0);
     }
 
+    /**
+     * @return la table des plus courts chemins (en nombre de wagons) entre les villes du plateau
+     */
+    public PlusCourtsChemins getDistances() {
+        return distances;
+    }
+
+    /**
+     * @return les coûts des destinations des joueurs, tenus à jour à chaque capture de route
+     */
+    public CoutsDestinations getCoutsDestinations() {
+        return coutsDestinations;
+    }
+
+    /**
+     * @return les routes sans propriétaire, par identifiant (ensemble tenu à jour par le jeu, à ne pas modifier)
+     */
+    BitSet getRoutesLibres() {
+        return routesLibres;
+    }
+
+    /**
+     * @return les villes sans gare, par identifiant (ensemble tenu à jour par le jeu, à ne pas modifier)
+     */
+    BitSet getVillesLibres() {
+        return villesLibres;
+    }
+
+    /**
+     * Appelée par {@link Route#setProprietaire(Joueur)} lorsqu'une route change de propriétaire
+     */
+    void proprietaireRouteModifie(Route route, Joueur ancien) {
+        if (routesLibres != null && route.getId() >= 0) {
+            routesLibres.set(route.getId(), route.getProprietaire() == null);
+        }
+        if (coutsDestinations != null) {
+            coutsDestinations.proprietaireModifie(route, ancien);
+        }
+    }
+
+    /**
+     * Appelée par {@link Ville#setProprietaire(Joueur)} lorsqu'une gare est construite (ou retirée)
+     */
+    void proprietaireVilleModifie(Ville ville) {
+        if (villesLibres != null && ville.getId() >= 0) {
+            villesLibres.set(ville.getId(), ville.getProprietaire() == null);
+        }
+    }
+
+    public boolean estSansAffichage() {
+        return sansAffichage;
+    }
+
+    /**
+     * Active ou désactive le mode sans affichage (parties simulées)
+     */
+    public void setSansAffichage(boolean sansAffichage) {
+        this.sansAffichage = sansAffichage;
+    }
+
+    /**
+     * Confie les décisions de chaque joueur à une stratégie et passe en mode sans affichage
+     *
+     * @param strategies une stratégie par joueur, dans l'ordre des joueurs
+     */
+    public void setStrategies(List<? extends Strategie> strategies) {
+        if (strategies.size() != joueurs.size()) {
+            throw new IllegalArgumentException("Il faut une stratégie par joueur");
+        }
+        for (int i = 0; i < joueurs.size(); i++) {
+            joueurs.get(i).setStrategie(strategies.get(i));
+        }
+        sansAffichage = true;
+    }
+
+    /**
+     * Limite le nombre de tours de la boucle principale (pour que les parties simulées se terminent même
+     * si aucun joueur n'épuise ses wagons)
+     */
+    public void setNbToursMax(int nbToursMax) {
+        this.nbToursMax = nbToursMax;
+    }
+
+    /**
+     * @return le nombre de tours joués dans la boucle principale
+     */
+    public int getNbTours() {
+        return nbTours;
+    }
+
+    /**
+     * Indique à qui envoyer l'état de la partie à chaque {@link #prompt} (par exemple
+     * {@code GameServer::setEtatJeu} pour l'interface graphique)
+     *
+     * @param affichage le destinataire de l'état de la partie, au format JSON
+     */
+    public void setAffichage(Consumer<String> affichage) {
+        this.affichage = affichage;
+    }
+
+    public CacheParcours getCacheParcours() {
+        return cacheParcours;
+    }
+
+    /**
+     * Fait mémoriser les plus longs parcours des réseaux des joueurs dans un cache ; un même cache peut être
+     * donné à plusieurs parties (par exemple celles d'un tournoi), dont les réseaux se ressemblent souvent
+     *
+     * @param cacheParcours le cache (null pour n'en utiliser aucun)
+     */
+    public void setCacheParcours(CacheParcours cacheParcours) {
+        this.cacheParcours = cacheParcours;
+        for (Joueur joueur : joueurs) {
+            joueur.getReseau().setCacheParcours(cacheParcours);
+        }
+    }
+
+    public ProjectionScores getProjectionScores() {
+        return projectionScores;
+    }
+
     public List<Joueur> getJoueurs() {
         return joueurs;
     }
@@ -110,6 +315,13 @@ public class Jeu implements Runnable {
         return routes;
     }
 
+    /**
+     * @return pour chaque ville, la liste des routes dont elle est une extrémité
+     */
+    public Map<Ville, List<Route>> getRoutesIncidentes() {
+        return routesIncidentes;
+    }
+
     public List<CouleurWagon> getPileCartesWagon() {
         return pileCartesWagon;
     }
@@ -143,8 +355,8 @@ public class Jeu implements Runnable {
     public void run() {
         // Choix des destinations initiales pour chaque joueur (au moins deux parmi 3
         // courtes et 1 longue)
-        ArrayList<Destination> pileDestinationsLongues = Destination.makeDestinationsLonguesEurope();
-        Collections.shuffle(pileDestinationsLongues);
+        ArrayList<Destination> pileDestinationsLongues = Destination.makeDestinationsLonguesEurope(plateau);
+        Collections.shuffle(pileDestinationsLongues, aleatoire);
         for (int i = 0; i < joueurs.size(); i++) {
             ArrayList<Destination> destinationsInitiales = new ArrayList<>();
             for (int j = 0; j < 3; j++) {
@@ -152,12 +364,14 @@ public class Jeu implements Runnable {
             }
             destinationsInitiales.add(pileDestinationsLongues.remove(0));
             List<Destination> destinationsDefaussees = joueurCourant.choisirDestinations(destinationsInitiales, 2);
-            if (destinationsDefaussees.isEmpty()) {
-                log(joueurCourant.toLog() + " ne défausse aucune destination.");
-            } else if (destinationsDefaussees.size() == 1) {
-                log(joueurCourant.toLog() + " défausse 1 destination.");
-            } else {
-                log(joueurCourant.toLog() + " défausse " + destinationsDefaussees.size() + " destinations.");
+            if (!sansAffichage) {
+                if (destinationsDefaussees.isEmpty()) {
+                    log(joueurCourant.toLog() + " ne défausse aucune destination.");
+                } else if (destinationsDefaussees.size() == 1) {
+                    log(joueurCourant.toLog() + " défausse 1 destination.");
+                } else {
+                    log(joueurCourant.toLog() + " défausse " + destinationsDefaussees.size() + " destinations.");
+                }
             }
             passeAuJoueurSuivant();
         }
@@ -165,7 +379,8 @@ public class Jeu implements Runnable {
         // Boucle principale (tours des joueurs)
         while (true) {
             joueurCourant.jouerTour();
-            if (joueurCourant.getNbWagons() <= 2) {
+            nbTours++;
+            if (joueurCourant.getNbWagons() <= 2 || nbTours >= nbToursMax) {
                 // un joueur a moins de 2 wagons restants à la fin de son tour
                 // -> plus qu'un tour de jeu
                 passeAuJoueurSuivant();
@@ -179,7 +394,11 @@ public class Jeu implements Runnable {
             passeAuJoueurSuivant();
         }
         // Fin de la partie
-        prompt("Fin de la partie.", new ArrayList<>(), true);
+        projectionScores.arreter();
+        calculerLesScores();
+        if (!sansAffichage) {
+            prompt("Fin de la partie.", new ArrayList<>(), true);
+        }
     }
 
     /**
@@ -188,7 +407,53 @@ public class Jeu implements Runnable {
      * @return une liste d'entiers, le ième entier étant le score du ième joueur
      */
     public List<Integer> calculerLesScores() {
-        throw new RuntimeException("Méthode non implémentée !");
+        // le score est recalculé entièrement à partir des réseaux : plusieurs appels donnent le même résultat
+        int[] scores = new int[joueurs.size()];
+        int[] plusLongues = calculerPlusLonguesRoutes();
+        int max = 0;
+        for (int i = 0; i < joueurs.size(); i++) {
+            Joueur joueur = joueurs.get(i);
+            // chaque gare peut emprunter une route adverse : on retient le choix le plus favorable
+            scores[i] = joueur.getReseau().getPointsRoutes() + 4 * joueur.getNbGares()
+                    + AffectationGares.calculer(joueur).getScoreDestinations();
+            max = Math.max(max, plusLongues[i]);
+        }
+        List<Integer> res = new ArrayList<>();
+        for (int i = 0; i < joueurs.size(); i++) {
+            if (max > 0 && plusLongues[i] == max) {
+                // en cas d'égalité, tous les joueurs concernés reçoivent le bonus
+                scores[i] += BONUS_PLUS_LONG_CHEMIN;
+            }
+            joueurs.get(i).setScore(scores[i]);
+            res.add(scores[i]);
+        }
+        return res;
+    }
+
+    /**
+     * Calcule la longueur de la plus longue route de chaque joueur
+     * <p>
+     * Chaque réseau conserve son dernier résultat : seuls les joueurs dont les routes ont changé depuis le
+     * dernier appel sont recalculés, et ils le sont en parallèle.
+     *
+     * @return un tableau dont le ième entier est la longueur de la plus longue route du ième joueur
+     */
+    public int[] calculerPlusLonguesRoutes() {
+        List<ReseauJoueur> aCalculer = new ArrayList<>();
+        for (Joueur joueur : joueurs) {
+            if (!joueur.getReseau().plusLongParcoursEstAJour()) {
+                aCalculer.add(joueur.getReseau());
+            }
+        }
+        // une partie simulée reste sur son fil : ce sont les parties qui sont réparties entre les cœurs
+        if (aCalculer.size() > 1 && !sansAffichage) {
+            aCalculer.parallelStream().forEach(ReseauJoueur::getPlusLongParcours);
+        }
+        int[] longueurs = new int[joueurs.size()];
+        for (int i = 0; i < joueurs.size(); i++) {
+            longueurs[i] = joueurs.get(i).getReseau().longueurPlusLongueRoute();
+        }
+        return longueurs;
     }
 
     /**
@@ -213,7 +478,7 @@ public class Jeu implements Runnable {
             if (defausseCartesWagon.size() > 0) {
                 pileCartesWagon.addAll(defausseCartesWagon);
                 defausseCartesWagon.clear();
-                Collections.shuffle(pileCartesWagon);
+                pileCartesWagon.melanger(aleatoire);
             } else {
                 return null;
             }
@@ -279,25 +544,28 @@ public class Jeu implements Runnable {
      * sont pas des locomotives dans la pioche, la défausse et les cartes révélées)
      */
     public void remplirCartesWagonVisibles() {
-        while (cartesWagonVisibles.size() < 5) {
-            CouleurWagon c = piocherCarteWagon();
-            if (c == null)
-                break; // plus aucune carte disponible à piocher
-            cartesWagonVisibles.add(c);
-        }
+        while (true) {
+            while (cartesWagonVisibles.size() < 5) {
+                CouleurWagon c = piocherCarteWagon();
+                if (c == null)
+                    break; // plus aucune carte disponible à piocher
+                cartesWagonVisibles.add(c);
+            }
 
-        if (Collections.frequency(cartesWagonVisibles, CouleurWagon.LOCOMOTIVE) >= 3) {
+            if (cartesWagonVisibles.compter(CouleurWagon.LOCOMOTIVE) < 3) {
+                return;
+            }
             // 3 locomotives -> défausser les 5 cartes et piocher 5 nouvelles
             // mais seulement s'il y a assez d'autres cartes pour avoir 5 cartes sans 3
             // locomotives
             if (cartesWagonVisibles.size() + pileCartesWagon.size() + defausseCartesWagon.size()
-                    - Collections.frequency(cartesWagonVisibles, CouleurWagon.LOCOMOTIVE)
-                    - Collections.frequency(pileCartesWagon, CouleurWagon.LOCOMOTIVE)
-                    - Collections.frequency(defausseCartesWagon, CouleurWagon.LOCOMOTIVE) >= 3) {
-                defausseCartesWagon.addAll(cartesWagonVisibles);
-                cartesWagonVisibles.clear();
-                remplirCartesWagonVisibles();
+                    - cartesWagonVisibles.compter(CouleurWagon.LOCOMOTIVE)
+                    - pileCartesWagon.compter(CouleurWagon.LOCOMOTIVE)
+                    - defausseCartesWagon.compter(CouleurWagon.LOCOMOTIVE) < 3) {
+                return;
             }
+            defausseCartesWagon.addAll(cartesWagonVisibles);
+            cartesWagonVisibles.clear();
         }
     }
 
@@ -305,6 +573,9 @@ public class Jeu implements Runnable {
      * Ajoute un message au log du jeu
      */
     public void log(String message) {
+        if (sansAffichage) {
+            return;
+        }
         log.add(message);
     }
 
@@ -367,8 +638,9 @@ public class Jeu implements Runnable {
                         new AbstractMap.SimpleEntry<String, Object>("pileDestinations", pileDestinations.size()),
                         new AbstractMap.SimpleEntry<String, Object>("defausseCartesWagon", defausseCartesWagon),
                         new AbstractMap.SimpleEntry<String, Object>("cartesWagonVisibles", cartesWagonVisibles))),
+                new AbstractMap.SimpleEntry<String, Object>("scoresProvisoires", projectionScores.getScoresProvisoires()),
                 new AbstractMap.SimpleEntry<String, Object>("log", log));
-        GameServer.setEtatJeu(new Gson().toJson(data));
+        affichage.accept(new Gson().toJson(data));
     }
 
     @Override
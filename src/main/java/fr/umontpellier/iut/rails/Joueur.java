@@ -16,6 +16,10 @@ public class Joueur {
      * Nom du joueur
      */
     private String nom;
+    /**
+     * Représentation HTML du nom (construite au premier appel de {@link #toLog()})
+     */
+    private String log;
     /**
      * Couleur du joueur (pour représentation sur le plateau)
      */
@@ -35,7 +39,7 @@ public class Joueur {
     /**
      * Liste des cartes que le joueur a en main
      */
-    private List<CouleurWagon> cartesWagon;
+    private PaquetCartesWagon cartesWagon;
     /**
      * Liste temporaire de cartes wagon que le joueur est en train de jouer pour
      * payer la capture d'une route ou la construction d'une gare
@@ -45,6 +49,18 @@ public class Joueur {
      * Score courant du joueur (somme des valeurs des routes capturées)
      */
     private int score;
+    /**
+     * Réseau des routes capturées par le joueur (construit à la première demande)
+     */
+    private ReseauJoueur reseau;
+    /**
+     * Stratégie qui prend les décisions du joueur (null si les décisions sont lues sur l'entrée du jeu)
+     */
+    private Strategie strategie;
+    /**
+     * Liste des coups possibles, réutilisée d'un tour à l'autre par les joueurs automatiques
+     */
+    private final ArrayList<Coup> coups = new ArrayList<>();
 
     public Joueur(String nom, Jeu jeu, Couleur couleur) {
         this.nom = nom;
@@ -52,7 +68,7 @@ public class Joueur {
         this.couleur = couleur;
         this.nbGares = 3;
         this.nbWagons = 45;
-        this.cartesWagon = new ArrayList<>();
+        this.cartesWagon = new PaquetCartesWagon();
         this.cartesWagonPosees = new ArrayList<>();
         this.destinations = new ArrayList<>();
         this.score = 12; // chaque gare non utilisée vaut 4 points
@@ -100,7 +116,55 @@ public class Joueur {
      * @param n
      */
     public void setScore(int n) {
-        throw new RuntimeException("Méthode non implémentée !");
+        score = n;
+    }
+
+    public Strategie getStrategie() {
+        return strategie;
+    }
+
+    /**
+     * Confie les décisions du joueur à une stratégie (ou les rend à l'utilisateur si {@code strategie} est null)
+     */
+    public void setStrategie(Strategie strategie) {
+        this.strategie = strategie;
+    }
+
+    /**
+     * Renvoie le réseau des routes capturées par le joueur. Le réseau est construit au premier appel
+     * puis tenu à jour à chaque changement de propriétaire d'une route.
+     *
+     * @return le réseau du joueur
+     */
+    public ReseauJoueur getReseau() {
+        if (reseau == null) {
+            reseau = new ReseauJoueur(jeu.getVilles());
+            reseau.setCacheParcours(jeu.getCacheParcours());
+            for (Route route : jeu.getRoutes()) {
+                if (route.getProprietaire() == this) {
+                    reseau.ajouterRoute(route);
+                }
+            }
+        }
+        return reseau;
+    }
+
+    /**
+     * Appelée lorsque le joueur devient propriétaire de la route
+     */
+    void ajouterRouteAuReseau(Route route) {
+        if (reseau != null) {
+            reseau.ajouterRoute(route);
+        }
+    }
+
+    /**
+     * Appelée lorsque le joueur perd la propriété de la route
+     */
+    void retirerRouteDuReseau(Route route) {
+        if (reseau != null) {
+            reseau.retirerRoute(route);
+        }
     }
 
     /**
@@ -188,11 +252,36 @@ public class Joueur {
      *                    faire de choix. S'il est autorisé à passer, c'est la
      *                    chaîne de caractères vide ("") qui signifie qu'il désire
      *                    passer.
+     * <p>
+     * Si le joueur a une stratégie, c'est elle qui fait le choix (sans affichage ni lecture de l'entrée).
+     *
      * @return le choix de l'utilisateur (un élement de {@code choix}, ou de
      * {@code boutons} ou la chaîne vide)
      */
     public String choisir(String instruction, Collection<String> choix, Collection<String> boutons,
                           boolean peutPasser) {
+        if (strategie != null) {
+            // ordre des choix conservé, pour que les parties simulées soient reproductibles (les listes de
+            // choix sont courtes : une recherche linéaire suffit à retirer les doublons)
+            ArrayList<String> choixDistincts = new ArrayList<>(choix.size() + boutons.size());
+            for (String c : choix) {
+                if (!choixDistincts.contains(c)) {
+                    choixDistincts.add(c);
+                }
+            }
+            for (String b : boutons) {
+                if (!choixDistincts.contains(b)) {
+                    choixDistincts.add(b);
+                }
+            }
+            if (choixDistincts.isEmpty()) {
+                return "";
+            }
+            if (choixDistincts.size() == 1 && !peutPasser) {
+                return choixDistincts.get(0);
+            }
+            return strategie.choisir(this, instruction, choixDistincts, peutPasser);
+        }
         // on retire les doublons de la liste des choix
         HashSet<String> choixDistincts = new HashSet<>();
         choixDistincts.addAll(choix);
@@ -254,7 +343,10 @@ public class Joueur {
      * HTML pour être mis en forme dans le log
      */
     public String toLog() {
-        return String.format("<span class=\"joueur\">%s</span>", nom);
+        if (log == null) {
+            log = String.format("<span class=\"joueur\">%s</span>", nom);
+        }
+        return log;
     }
 
     /**
@@ -323,6 +415,7 @@ public class Joueur {
             }
         }
         destinations.addAll(destinationsPossibles);
+        jeu.getProjectionScores().demander();
         return defaussees;
     }
 
@@ -347,55 +440,105 @@ public class Joueur {
      * construire une gare, choisir les destinations à défausser, etc.)
      */
     public void jouerTour() {
-        log("<span class=\"tour\">Tour de " + toLog() + "</span>");
-        Set<String> optionsPossibles = new HashSet<>();
+        if (!jeu.estSansAffichage()) {
+            log("<span class=\"tour\">Tour de " + toLog() + "</span>");
+        }
+        if (strategie != null) {
+            coupsPossibles(coups);
+            jouerCoup(strategie.choisirCoup(this, coups));
+            return;
+        }
+        HashMap<String, Coup> options = new HashMap<>();
+        for (Coup coup : coupsPossibles()) {
+            if (coup.getType() != Coup.Type.PASSER) {
+                options.put(coup.getOption(jeu), coup);
+            }
+        }
+
+        String choix = choisir("Début du tour.", options.keySet(), new ArrayList<>(), true);
+
+        Coup coup = options.get(choix);
+        if (coup != null) {
+            jouerCoup(coup);
+        }
+    }
+
+    /**
+     * Renvoie les coups que le joueur peut jouer au début de son tour (voir {@link #jouerTour()})
+     * <p>
+     * Les routes et villes disponibles sont lues dans les ensembles tenus à jour par le jeu et les cartes
+     * visibles dans les nombres de cartes par couleur : seules les routes libres sont examinées.
+     *
+     * @return la liste des coups possibles (passer son tour est toujours possible et figure en dernier)
+     */
+    public ArrayList<Coup> coupsPossibles() {
+        ArrayList<Coup> coups = new ArrayList<>();
+        coupsPossibles(coups);
+        return coups;
+    }
+
+    /**
+     * Remplace le contenu de la liste par les coups que le joueur peut jouer au début de son tour
+     * (pour réutiliser la même liste d'un tour à l'autre)
+     *
+     * @param coups la liste à remplir
+     */
+    public void coupsPossibles(List<Coup> coups) {
+        coups.clear();
         // piocher une mission
         if (!jeu.pileDestinationsEstVide()) {
-            optionsPossibles.add("destinations");
+            coups.add(Coup.DESTINATIONS);
         }
 
         // prendre des cartes wagon
-        Set<String> couleurs = new HashSet<>();
-        for (CouleurWagon c : jeu.getCartesWagonVisibles()) {
-            optionsPossibles.add(c.name());
-            couleurs.add(c.name());
+        List<CouleurWagon> visibles = jeu.getCartesWagonVisibles();
+        for (CouleurWagon c : CouleurWagon.values()) {
+            if (visibles.contains(c)) {
+                coups.add(Coup.carteVisible(c));
+            }
         }
         if (!jeu.pileCartesWagonEstVide()) {
-            optionsPossibles.add(CouleurWagon.GRIS.name());
-            couleurs.add(CouleurWagon.GRIS.name());
+            coups.add(Coup.CARTE_PIOCHE);
         }
 
-        // capturer une route
-        HashMap<String, Route> routes = new HashMap<>();
-        for (Route route : jeu.getRoutes()) {
-            if (route.getProprietaire() == null && route.getLongueur() <= nbWagons
-                    && route.peutCapturerParJoueur(this)) {
-                optionsPossibles.add(route.getNom());
-                routes.put(route.getNom(), route);
+        // capturer une route (toute route demande au moins sa longueur en cartes d'une même couleur et
+        // locomotives : les routes plus longues sont écartées sans appeler peutCapturerParJoueur)
+        int longueurMax = Math.min(nbWagons,
+                cartesWagon.compter(CouleurWagon.LOCOMOTIVE) + cartesWagon.compterMeilleureCouleurSimple());
+        BitSet routesLibres = jeu.getRoutesLibres();
+        for (int r = routesLibres.nextSetBit(0); r >= 0; r = routesLibres.nextSetBit(r + 1)) {
+            Route route = jeu.getRoutes().get(r);
+            if (route.getLongueur() <= longueurMax && route.peutCapturerParJoueur(this)) {
+                coups.add(Coup.route(route));
             }
         }
 
-        // construire une ville
-        HashMap<String, Ville> villes = new HashMap<>();
+        // construire une gare
         if (nbGares > 0 && peutPayerCartesWagon(4 - nbGares, CouleurWagon.GRIS, 0)) {
-            for (Ville ville : jeu.getVilles()) {
-                if (ville.getProprietaire() == null) {
-                    optionsPossibles.add(ville.getNom());
-                    villes.put(ville.getNom(), ville);
-                }
+            BitSet villesLibres = jeu.getVillesLibres();
+            for (int v = villesLibres.nextSetBit(0); v >= 0; v = villesLibres.nextSetBit(v + 1)) {
+                coups.add(Coup.gare(jeu.getVilles().get(v)));
             }
         }
 
-        String choix = choisir("Début du tour.", optionsPossibles, new ArrayList<>(), true);
+        coups.add(Coup.PASSER);
+    }
 
-        if (choix.equals("destinations")) {
-            prendreDestinations();
-        } else if (couleurs.contains(choix)) {
-            prendreCartesWagons(CouleurWagon.valueOf(choix));
-        } else if (routes.containsKey(choix)) {
-            capturerRoute(routes.get(choix));
-        } else if (villes.containsKey(choix)) {
-            construireGare(villes.get(choix));
+    /**
+     * Exécute un coup choisi parmi ceux renvoyés par {@link #coupsPossibles()} (les choix secondaires,
+     * comme les cartes à payer, sont demandés au joueur par {@link #choisir})
+     *
+     * @param coup le coup à jouer
+     */
+    public void jouerCoup(Coup coup) {
+        switch (coup.getType()) {
+            case DESTINATIONS -> prendreDestinations();
+            case CARTE_VISIBLE -> prendreCartesWagons(coup.getCouleur());
+            case CARTE_PIOCHE -> prendreCartesWagons(CouleurWagon.GRIS);
+            case ROUTE -> capturerRoute(jeu.getRoutes().get(coup.getId()));
+            case GARE -> construireGare(jeu.getVilles().get(coup.getId()));
+            case PASSER -> {
+            }
         }
     }
 
@@ -407,10 +550,14 @@ public class Joueur {
      */
     private void prendreCartesWagons(CouleurWagon couleur) {
         if (couleur == CouleurWagon.GRIS) {
-            log(toLog() + " pioche une carte wagon");
+            if (!jeu.estSansAffichage()) {
+                log(toLog() + " pioche une carte wagon");
+            }
             cartesWagon.add(jeu.piocherCarteWagon());
         } else {
-            log(toLog() + " prend une carte wagon " + couleur.toLog());
+            if (!jeu.estSansAffichage()) {
+                log(toLog() + " prend une carte wagon " + couleur.toLog());
+            }
             cartesWagon.add(couleur);
             jeu.retirerCarteWagonVisible(couleur);
         }
@@ -432,11 +579,15 @@ public class Joueur {
                     choixPossibles,
                     new ArrayList<>(), true);
             if (choix.equals(CouleurWagon.GRIS.name())) {
-                log(toLog() + " pioche une carte wagon");
+                if (!jeu.estSansAffichage()) {
+                    log(toLog() + " pioche une carte wagon");
+                }
                 cartesWagon.add(jeu.piocherCarteWagon());
             } else if (choixPossibles.contains(choix)) {
                 couleur = CouleurWagon.valueOf(choix);
-                log(toLog() + " prend une carte wagon " + couleur.toLog());
+                if (!jeu.estSansAffichage()) {
+                    log(toLog() + " prend une carte wagon " + couleur.toLog());
+                }
                 cartesWagon.add(couleur);
                 jeu.retirerCarteWagonVisible(couleur);
             }
@@ -461,9 +612,12 @@ public class Joueur {
      * @return
      */
     public boolean peutPayerCartesWagon(int nbCouleur, CouleurWagon couleur, int nbLocomotives) {
-        Map<CouleurWagon, Integer> compteur = CouleurWagon.compteur(cartesWagon);
-        return compteur.get(CouleurWagon.LOCOMOTIVE) >= nbLocomotives
-                && compteur.get(couleur) + compteur.get(CouleurWagon.LOCOMOTIVE) >= nbCouleur + nbLocomotives;
+        // la main tient à jour le nombre de cartes de chaque couleur : aucun décompte n'est nécessaire
+        int locomotives = cartesWagon.compter(CouleurWagon.LOCOMOTIVE);
+        int cartesCouleur = couleur == CouleurWagon.GRIS
+                ? cartesWagon.compterMeilleureCouleurSimple()
+                : cartesWagon.compter(couleur);
+        return locomotives >= nbLocomotives && cartesCouleur + locomotives >= nbCouleur + nbLocomotives;
     }
 
     /**
@@ -486,31 +640,24 @@ public class Joueur {
             cartesWagonPosees.add(CouleurWagon.LOCOMOTIVE);
         }
 
-        Map<CouleurWagon, Integer> compteur = CouleurWagon.compteur(cartesWagon);
         while (nbCouleur > 0) {
             // il reste des cartes à payer
-            List<CouleurWagon> choixPossibles = new ArrayList<>();
-            if (compteur.get(CouleurWagon.LOCOMOTIVE) > 0) {
-                choixPossibles.add(CouleurWagon.LOCOMOTIVE);
+            List<String> choixPossibles = new ArrayList<>();
+            int locomotives = cartesWagon.compter(CouleurWagon.LOCOMOTIVE);
+            if (locomotives > 0) {
+                choixPossibles.add(CouleurWagon.LOCOMOTIVE.name());
             }
             if (couleur == CouleurWagon.GRIS) {
                 for (CouleurWagon c : CouleurWagon.getCouleursSimples()) {
-                    if (compteur.get(c) > 0
-                            && compteur.get(c) + compteur.get(CouleurWagon.LOCOMOTIVE) >= nbCouleur) {
-                        choixPossibles.add(c);
+                    if (cartesWagon.compter(c) > 0 && cartesWagon.compter(c) + locomotives >= nbCouleur) {
+                        choixPossibles.add(c.name());
                     }
                 }
-            } else if (compteur.get(couleur) > 0) {
-                choixPossibles.add(couleur);
+            } else if (cartesWagon.compter(couleur) > 0) {
+                choixPossibles.add(couleur.name());
             }
 
-            String choix = choisir(
-                    instruction,
-                    new ArrayList<>(choixPossibles.stream()
-                            .map(CouleurWagon::name)
-                            .collect(Collectors.toList())),
-                    new ArrayList<>(),
-                    false);
+            String choix = choisir(instruction, choixPossibles, new ArrayList<>(), false);
             CouleurWagon couleurChoisie = CouleurWagon.valueOf(choix);
 
             if (couleur == CouleurWagon.GRIS && couleurChoisie != CouleurWagon.LOCOMOTIVE) {
@@ -519,7 +666,6 @@ public class Joueur {
 
             cartesWagon.remove(couleurChoisie);
             cartesWagonPosees.add(couleurChoisie);
-            compteur.put(couleurChoisie, compteur.get(couleurChoisie) - 1);
             nbCouleur -= 1;
         }
 
@@ -543,16 +689,9 @@ public class Joueur {
     private void capturerRoute(Route route) {
         if (route.capturerParJoueur(this)) {
             route.setProprietaire(this);
-            int n = route.getLongueur();
-            nbWagons -= n;
-            switch (n) {
-                case 1 -> score += 1;
-                case 2 -> score += 2;
-                case 3 -> score += 4;
-                case 4 -> score += 7;
-                case 6 -> score += 15;
-                case 8 -> score += 21;
-            }
+            nbWagons -= route.getLongueur();
+            score += route.getPoints();
+            jeu.getProjectionScores().demander();
         }
     }
 
@@ -573,9 +712,13 @@ public class Joueur {
             }
             destinationsPossibles.add(d);
         }
-        log(toLog() + " pioche " + destinationsPossibles.size() + " cartes destination");
+        if (!jeu.estSansAffichage()) {
+            log(toLog() + " pioche " + destinationsPossibles.size() + " cartes destination");
+        }
         List<Destination> defausse = choisirDestinations(destinationsPossibles, 1);
-        log("   ... en défausse " + defausse.size());
+        if (!jeu.estSansAffichage()) {
+            log("   ... en défausse " + defausse.size());
+        }
         jeu.defausserDestinations(defausse);
     }
 
@@ -595,7 +738,9 @@ public class Joueur {
      * @param ville la ville sur laquelle construire la gare
      */
     private void construireGare(Ville ville) {
-        log(toLog() + " construit une gare à " + ville.toLog());
+        if (!jeu.estSansAffichage()) {
+            log(toLog() + " construit une gare à " + ville.toLog());
+        }
         int nbCartes = 4 - nbGares;
         if (nbCartes == 1) {
             payerCartesWagon(4 - nbGares, CouleurWagon.GRIS, 0,
@@ -606,11 +751,14 @@ public class Joueur {
                     String.format("Défaussez %d cartes wagon pour construire la gare à %s",
                             nbCartes, ville.getNom()));
         }
-        log("   ... défausse " + CouleurWagon.listToLog(cartesWagonPosees));
+        if (!jeu.estSansAffichage()) {
+            log("   ... défausse " + CouleurWagon.listToLog(cartesWagonPosees));
+        }
         defausserCartesWagonPosees();
         nbGares -= 1;
         score -= 4;
         ville.setProprietaire(this);
+        jeu.getProjectionScores().demander();
     }
 
 }
@@ -0,0 +1,219 @@
+package fr.umontpellier.iut.rails;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Random;
+import java.util.RandomAccess;
+
+/**
+ * Paquet de cartes wagon (pioche, cartes visibles, défausse) rangé dans un tableau circulaire
+ * <p>
+ * Le paquet est une liste modifiable comme une autre, mais :
+ * <ul>
+ *     <li>retirer ou ajouter une carte en tête ou en queue ({@code remove(0)}, {@code add(0, c)},
+ *     {@code add(c)}) se fait en temps constant et sans allocation ;</li>
+ *     <li>le nombre de cartes de chaque couleur est tenu à jour à chaque modification
+ *     ({@link #compter(CouleurWagon)} est en temps constant) ;</li>
+ *     <li>le plus grand nombre de cartes d'une même couleur simple est conservé
+ *     ({@link #compterMeilleureCouleurSimple()}, la valeur associée à GRIS par {@link CouleurWagon#compteur}) ;</li>
+ *     <li>le paquet se mélange sur place ({@link #melanger(Random)}).</li>
+ * </ul>
+ * Le paquet ne peut pas contenir {@code null}.
+ */
+public class PaquetCartesWagon extends AbstractList<CouleurWagon> implements RandomAccess {
+    private static final CouleurWagon[] COULEURS = CouleurWagon.values();
+
+    /**
+     * Cartes du paquet : la carte d'indice i est en {@code cartes[(tete + i) & (cartes.length - 1)]}
+     * (la capacité est une puissance de 2)
+     */
+    private CouleurWagon[] cartes;
+    private int tete;
+    private int taille;
+    /**
+     * Nombre de cartes de chaque couleur (indexé par {@link CouleurWagon#ordinal()})
+     */
+    private final int[] nombres = new int[COULEURS.length];
+    /**
+     * Plus grand nombre de cartes d'une même couleur simple (valide si {@code meilleureAJour})
+     */
+    private int meilleure;
+    private boolean meilleureAJour = true;
+
+    public PaquetCartesWagon() {
+        cartes = new CouleurWagon[16];
+    }
+
+    public PaquetCartesWagon(Collection<CouleurWagon> cartes) {
+        this();
+        addAll(cartes);
+    }
+
+    /**
+     * @return le nombre de cartes de la couleur indiquée dans le paquet
+     */
+    public int compter(CouleurWagon couleur) {
+        return nombres[couleur.ordinal()];
+    }
+
+    /**
+     * @return le plus grand nombre de cartes d'une même couleur simple (hors LOCOMOTIVE et GRIS)
+     */
+    public int compterMeilleureCouleurSimple() {
+        if (!meilleureAJour) {
+            meilleure = 0;
+            for (CouleurWagon c : COULEURS) {
+                if (c != CouleurWagon.LOCOMOTIVE && c != CouleurWagon.GRIS) {
+                    meilleure = Math.max(meilleure, nombres[c.ordinal()]);
+                }
+            }
+            meilleureAJour = true;
+        }
+        return meilleure;
+    }
+
+    /**
+     * Mélange les cartes du paquet sur place (algorithme de Fisher-Yates)
+     *
+     * @param aleatoire le générateur utilisé
+     */
+    public void melanger(Random aleatoire) {
+        for (int i = taille - 1; i > 0; i--) {
+            int j = aleatoire.nextInt(i + 1);
+            int pi = position(i);
+            int pj = position(j);
+            CouleurWagon c = cartes[pi];
+            cartes[pi] = cartes[pj];
+            cartes[pj] = c;
+        }
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return taille;
+    }
+
+    @Override
+    public CouleurWagon get(int index) {
+        Objects.checkIndex(index, taille);
+        return cartes[position(index)];
+    }
+
+    @Override
+    public CouleurWagon set(int index, CouleurWagon couleur) {
+        Objects.checkIndex(index, taille);
+        Objects.requireNonNull(couleur);
+        int p = position(index);
+        CouleurWagon ancienne = cartes[p];
+        cartes[p] = couleur;
+        retirer(ancienne);
+        ajouter(couleur);
+        return ancienne;
+    }
+
+    @Override
+    public boolean add(CouleurWagon couleur) {
+        add(taille, couleur);
+        return true;
+    }
+
+    @Override
+    public void add(int index, CouleurWagon couleur) {
+        Objects.checkIndex(index, taille + 1);
+        Objects.requireNonNull(couleur);
+        if (taille == cartes.length) {
+            agrandir();
+        }
+        int masque = cartes.length - 1;
+        if (index < taille / 2) {
+            // décalage des cartes qui précèdent vers la gauche
+            tete = (tete - 1) & masque;
+            for (int i = 0; i < index; i++) {
+                cartes[(tete + i) & masque] = cartes[(tete + i + 1) & masque];
+            }
+        } else {
+            // décalage des cartes qui suivent vers la droite
+            for (int i = taille; i > index; i--) {
+                cartes[(tete + i) & masque] = cartes[(tete + i - 1) & masque];
+            }
+        }
+        cartes[(tete + index) & masque] = couleur;
+        taille++;
+        ajouter(couleur);
+        modCount++;
+    }
+
+    @Override
+    public CouleurWagon remove(int index) {
+        Objects.checkIndex(index, taille);
+        int masque = cartes.length - 1;
+        CouleurWagon couleur = cartes[(tete + index) & masque];
+        if (index < taille / 2) {
+            for (int i = index; i > 0; i--) {
+                cartes[(tete + i) & masque] = cartes[(tete + i - 1) & masque];
+            }
+            cartes[tete] = null;
+            tete = (tete + 1) & masque;
+        } else {
+            for (int i = index; i < taille - 1; i++) {
+                cartes[(tete + i) & masque] = cartes[(tete + i + 1) & masque];
+            }
+            cartes[(tete + taille - 1) & masque] = null;
+        }
+        taille--;
+        retirer(couleur);
+        modCount++;
+        return couleur;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof CouleurWagon && nombres[((CouleurWagon) o).ordinal()] > 0;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(cartes, null);
+        Arrays.fill(nombres, 0);
+        meilleure = 0;
+        meilleureAJour = true;
+        tete = 0;
+        taille = 0;
+        modCount++;
+    }
+
+    /**
+     * Compte une carte ajoutée au paquet
+     */
+    private void ajouter(CouleurWagon couleur) {
+        int n = ++nombres[couleur.ordinal()];
+        if (meilleureAJour && n > meilleure && couleur != CouleurWagon.LOCOMOTIVE && couleur != CouleurWagon.GRIS) {
+            meilleure = n;
+        }
+    }
+
+    /**
+     * Décompte une carte retirée du paquet
+     */
+    private void retirer(CouleurWagon couleur) {
+        if (nombres[couleur.ordinal()]-- == meilleure) {
+            meilleureAJour = false;
+        }
+    }
+
+    private int position(int index) {
+        return (tete + index) & (cartes.length - 1);
+    }
+
+    private void agrandir() {
+        CouleurWagon[] nouvelles = new CouleurWagon[2 * cartes.length];
+        for (int i = 0; i < taille; i++) {
+            nouvelles[i] = cartes[position(i)];
+        }
+        cartes = nouvelles;
+        tete = 0;
+    }
+}
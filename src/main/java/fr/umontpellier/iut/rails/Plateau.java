@@ -1,6 +1,11 @@
 package fr.umontpellier.iut.rails;
 
+import fr.umontpellier.iut.graphes.Graphe;
+import fr.umontpellier.iut.graphes.PlusCourtsChemins;
+
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -14,10 +19,49 @@ public class Plateau {
      * Liste des routes
      */
     private final List<Route> routes;
+    /**
+     * Routes ayant chaque ville pour extrémité
+     */
+    private final Map<Ville, List<Route>> routesIncidentes;
+    /**
+     * Identifiant de chaque ville du plateau à partir de son nom
+     */
+    private final Map<String, Integer> idsVilles;
+    /**
+     * Plus courts chemins (en nombre de wagons) entre toutes les villes du plateau Europe
+     */
+    private static PlusCourtsChemins distancesEurope;
 
+    /**
+     * Construit un plateau ; chaque ville (et chaque route) reçoit pour identifiant son indice dans la liste
+     * des villes (des routes)
+     */
     public Plateau(List<Ville> villes, List<Route> routes) {
+        this(villes, routes, new HashMap<>());
+        for (int i = 0; i < villes.size(); i++) {
+            idsVilles.put(villes.get(i).getNom(), i);
+        }
+    }
+
+    /**
+     * Construit un plateau dont la table des identifiants des villes est idsVilles (une copie partage celle
+     * de son modèle, qui n'est plus modifiée)
+     */
+    private Plateau(List<Ville> villes, List<Route> routes, Map<String, Integer> idsVilles) {
         this.villes = villes;
         this.routes = routes;
+        this.routesIncidentes = new HashMap<>();
+        this.idsVilles = idsVilles;
+        for (int i = 0; i < villes.size(); i++) {
+            villes.get(i).setId(i);
+            routesIncidentes.put(villes.get(i), new ArrayList<>());
+        }
+        for (int i = 0; i < routes.size(); i++) {
+            Route route = routes.get(i);
+            route.setId(i);
+            routesIncidentes.get(route.getVille1()).add(route);
+            routesIncidentes.get(route.getVille2()).add(route);
+        }
     }
 
     public List<Ville> getVilles() {
@@ -28,7 +72,103 @@ public class Plateau {
         return routes;
     }
 
+    /**
+     * @return pour chaque ville, la liste des routes dont elle est une extrémité
+     */
+    public Map<Ville, List<Route>> getRoutesIncidentes() {
+        return routesIncidentes;
+    }
+
+    /**
+     * @param nom le nom d'une ville
+     * @return l'identifiant de la ville du plateau qui porte ce nom, ou -1 si aucune ville du plateau ne porte
+     * ce nom
+     */
+    public int getIdVille(String nom) {
+        return idsVilles.getOrDefault(nom, -1);
+    }
+
+    /**
+     * @return un plateau formé de villes et de routes neuves (sans propriétaire), copies de celles de ce
+     * plateau, avec les mêmes noms et les mêmes identifiants
+     */
+    private Plateau copier() {
+        List<Ville> copieVilles = new ArrayList<>(villes.size());
+        for (Ville ville : villes) {
+            copieVilles.add(new Ville(ville.getNom()));
+        }
+        List<Route> copieRoutes = new ArrayList<>(routes.size());
+        for (Route route : routes) {
+            copieRoutes.add(route.copier(copieVilles.get(route.getVille1().getId()),
+                    copieVilles.get(route.getVille2().getId())));
+        }
+        return new Plateau(copieVilles, copieRoutes, idsVilles);
+    }
+
+    /**
+     * Modèle du plateau Europe, construit au premier usage de la classe (le chargement de classe garantit
+     * une initialisation unique : la lecture ne prend aucun verrou). Le modèle n'est jamais joué : chaque
+     * partie en reçoit une copie, puisque ses villes et ses routes portent l'état de la partie.
+     */
+    private static final class ModeleEurope {
+        private static final Plateau PLATEAU = construirePlateauEurope();
+    }
+
+    /**
+     * Les villes du plateau Europe sont numérotées dans l'ordre alphabétique de leurs noms : l'identifiant
+     * d'une ville est donc le même dans tous les plateaux Europe.
+     *
+     * @param nom le nom d'une ville du plateau Europe
+     * @return l'identifiant de la ville, ou -1 si aucune ville du plateau Europe ne porte ce nom
+     */
+    public static int getIdVilleEurope(String nom) {
+        return ModeleEurope.PLATEAU.getIdVille(nom);
+    }
+
+    /**
+     * @return le graphe des villes du plateau dont les arêtes sont toutes les routes (les routes doubles
+     * sont des arêtes parallèles)
+     */
+    public Graphe getGrapheRoutes() {
+        GrapheRoutes g = new GrapheRoutes(villes);
+        for (Route route : routes) {
+            g.ajouterRoute(route);
+        }
+        return g.getGraphe();
+    }
+
+    /**
+     * Renvoie la table des plus courts chemins entre toutes les villes du plateau Europe, indexée par les
+     * identifiants des villes (elle est calculée au premier appel)
+     *
+     * @return la longueur en wagons de la plus courte liaison entre deux villes, et le chemin correspondant
+     */
+    public static synchronized PlusCourtsChemins getDistancesEurope() {
+        if (distancesEurope == null) {
+            distancesEurope = PlusCourtsChemins.calculer(ModeleEurope.PLATEAU.getGrapheRoutes());
+        }
+        return distancesEurope;
+    }
+
+    /**
+     * Charge la table des plus courts chemins du plateau Europe depuis un fichier binaire (ou la calcule
+     * et l'y enregistre si le fichier n'existe pas ou ne correspond plus au plateau)
+     *
+     * @param fichier le fichier de la table
+     */
+    public static synchronized void chargerDistancesEurope(Path fichier) {
+        distancesEurope = PlusCourtsChemins.chargerOuCalculer(ModeleEurope.PLATEAU.getGrapheRoutes(), fichier);
+    }
+
+    /**
+     * @return un nouveau plateau Europe, copie du modèle (les villes et les routes ne sont pas partagées
+     * entre les parties)
+     */
     static public Plateau makePlateauEurope() {
+        return ModeleEurope.PLATEAU.copier();
+    }
+
+    private static Plateau construirePlateauEurope() {
         Map<String, Ville> villes = new HashMap<>();
         villes.put("amsterdam", new Ville("Amsterdam"));
         villes.put("angora", new Ville("Angora"));
@@ -192,6 +332,8 @@ public class Plateau {
                 }
             }
         }
-        return new Plateau(new ArrayList<>(villes.values()), routes);
+        List<Ville> listeVilles = new ArrayList<>(villes.values());
+        listeVilles.sort(Comparator.comparing(Ville::getNom));
+        return new Plateau(listeVilles, routes);
     }
 }
@@ -0,0 +1,251 @@
+package fr.umontpellier.iut.rails;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Calcul en tâche de fond des scores provisoires des joueurs pendant la partie
+ * <p>
+ * À chaque événement qui peut changer un score (capture de route, construction de gare, choix de
+ * destinations), le fil du jeu appelle {@link #demander()} : l'état utile de la partie est copié
+ * (propriétaires des routes et des gares, destinations) puis confié à un unique fil de calcul.
+ * <ul>
+ *     <li>les demandes rapprochées sont fusionnées : seule la plus récente est calculée ;</li>
+ *     <li>un calcul est abandonné dès qu'une demande plus récente arrive ;</li>
+ *     <li>le résultat est publié dans une référence atomique que {@link Jeu#prompt} lit sans attendre.</li>
+ * </ul>
+ * Le fil du jeu ne se bloque donc jamais : il ne fait que la copie de l'état (quelques centaines de références).
+ */
+public class ProjectionScores {
+    private final Jeu jeu;
+    /**
+     * Demande la plus récente qui n'a pas encore été prise en charge par le fil de calcul
+     */
+    private final AtomicReference<Instantane> demande = new AtomicReference<>();
+    /**
+     * Vrai si une tâche de calcul est soumise ou en cours
+     */
+    private final AtomicBoolean enCours = new AtomicBoolean();
+    /**
+     * Derniers scores publiés (un objet simple par joueur, dans l'ordre des joueurs)
+     */
+    private final AtomicReference<List<Object>> scoresProvisoires = new AtomicReference<>(Collections.emptyList());
+    /**
+     * Numéro de la dernière demande dont le résultat a été publié
+     */
+    private volatile long numeroPublie;
+    private long numeroDemande;
+    private ThreadPoolExecutor executeur;
+
+    /**
+     * Réseaux reconstruits par le fil de calcul (et versions des réseaux du jeu dont ils sont la copie) :
+     * un joueur dont les routes n'ont pas changé garde son réseau et son plus long parcours déjà calculé
+     */
+    private ReseauJoueur[] reseaux;
+    private int[] versions;
+
+    public ProjectionScores(Jeu jeu) {
+        this.jeu = jeu;
+    }
+
+    /**
+     * État de la partie nécessaire au calcul des scores, copié sur le fil du jeu
+     */
+    private static final class Instantane {
+        private final long numero;
+        private final List<String> noms = new ArrayList<>();
+        private final List<Integer> versions = new ArrayList<>();
+        private final List<Integer> nbGares = new ArrayList<>();
+        private final List<List<Route>> routes = new ArrayList<>();
+        private final List<List<Ville>> gares = new ArrayList<>();
+        private final List<List<Destination>> destinations = new ArrayList<>();
+        /**
+         * Indice du joueur propriétaire de chaque route capturée
+         */
+        private final Map<Route, Integer> proprietaires = new HashMap<>();
+
+        private Instantane(long numero) {
+            this.numero = numero;
+        }
+    }
+
+    /**
+     * Demande le calcul des scores provisoires pour l'état actuel de la partie
+     * (à appeler depuis le fil du jeu, ne bloque jamais)
+     */
+    public void demander() {
+        if (jeu.estSansAffichage()) {
+            // personne ne lit les scores provisoires d'une partie simulée
+            return;
+        }
+        Instantane instantane = copierEtat(++numeroDemande);
+        demande.set(instantane);
+        if (enCours.compareAndSet(false, true)) {
+            getExecuteur().execute(this::traiterDemandes);
+        }
+    }
+
+    /**
+     * @return les derniers scores provisoires publiés (liste vide si aucun calcul n'a encore abouti)
+     */
+    public List<Object> getScoresProvisoires() {
+        return scoresProvisoires.get();
+    }
+
+    /**
+     * @return le numéro de la dernière demande dont le résultat a été publié (0 si aucune)
+     */
+    public long getNumeroPublie() {
+        return numeroPublie;
+    }
+
+    /**
+     * @return le numéro de la dernière demande reçue
+     */
+    public long getNumeroDemande() {
+        return numeroDemande;
+    }
+
+    /**
+     * Arrête le fil de calcul (les demandes en attente sont abandonnées)
+     */
+    public synchronized void arreter() {
+        if (executeur != null) {
+            executeur.shutdownNow();
+            executeur = null;
+        }
+        demande.set(null);
+        enCours.set(false);
+    }
+
+    /**
+     * @return l'exécuteur à un seul fil (le fil s'arrête après une seconde sans demande)
+     */
+    private synchronized ThreadPoolExecutor getExecuteur() {
+        if (executeur == null) {
+            executeur = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread t = new Thread(r, "projection-scores");
+                t.setDaemon(true);
+                return t;
+            });
+            executeur.allowCoreThreadTimeOut(true);
+        }
+        return executeur;
+    }
+
+    private Instantane copierEtat(long numero) {
+        Instantane instantane = new Instantane(numero);
+        List<Joueur> joueurs = jeu.getJoueurs();
+        Map<Joueur, Integer> indices = new HashMap<>();
+        for (int i = 0; i < joueurs.size(); i++) {
+            Joueur joueur = joueurs.get(i);
+            indices.put(joueur, i);
+            instantane.noms.add(joueur.getNom());
+            instantane.versions.add(joueur.getReseau().getVersion());
+            instantane.nbGares.add(joueur.getNbGares());
+            instantane.routes.add(new ArrayList<>());
+            instantane.gares.add(new ArrayList<>());
+            instantane.destinations.add(new ArrayList<>(joueur.getDestinations()));
+        }
+        for (Route route : jeu.getRoutes()) {
+            Integer i = indices.get(route.getProprietaire());
+            if (i != null) {
+                instantane.routes.get(i).add(route);
+                instantane.proprietaires.put(route, i);
+            }
+        }
+        for (Ville ville : jeu.getVilles()) {
+            Integer i = indices.get(ville.getProprietaire());
+            if (i != null) {
+                instantane.gares.get(i).add(ville);
+            }
+        }
+        return instantane;
+    }
+
+    /**
+     * Boucle du fil de calcul : traite la demande la plus récente tant qu'il y en a
+     */
+    private void traiterDemandes() {
+        while (true) {
+            Instantane instantane = demande.getAndSet(null);
+            if (instantane == null) {
+                enCours.set(false);
+                // une demande a pu arriver entre la lecture et la libération du drapeau
+                if (demande.get() == null || !enCours.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            List<Object> scores = calculer(instantane);
+            if (scores != null) {
+                scoresProvisoires.set(scores);
+                numeroPublie = instantane.numero;
+            }
+        }
+    }
+
+    /**
+     * Calcule les scores provisoires d'un état de la partie
+     *
+     * @return les scores de chaque joueur, ou null si le calcul a été abandonné au profit d'une demande
+     * plus récente
+     */
+    private List<Object> calculer(Instantane instantane) {
+        int nbJoueurs = instantane.noms.size();
+        if (reseaux == null || reseaux.length != nbJoueurs) {
+            reseaux = new ReseauJoueur[nbJoueurs];
+            versions = new int[nbJoueurs];
+        }
+        int[] scores = new int[nbJoueurs];
+        int[] nbRealisees = new int[nbJoueurs];
+        int[] plusLongues = new int[nbJoueurs];
+        int max = 0;
+        for (int i = 0; i < nbJoueurs; i++) {
+            if (demande.get() != null) {
+                return null;
+            }
+            if (reseaux[i] == null || versions[i] != instantane.versions.get(i)) {
+                reseaux[i] = new ReseauJoueur(jeu.getVilles());
+                reseaux[i].setCacheParcours(jeu.getCacheParcours());
+                for (Route route : instantane.routes.get(i)) {
+                    reseaux[i].ajouterRoute(route);
+                }
+                versions[i] = instantane.versions.get(i);
+            }
+            final int joueur = i;
+            AffectationGares affectation = new AffectationGares(reseaux[i], instantane.gares.get(i),
+                    jeu.getRoutesIncidentes(), instantane.destinations.get(i), r -> {
+                        Integer proprietaire = instantane.proprietaires.get(r);
+                        return proprietaire != null && proprietaire != joueur;
+                    });
+            scores[i] = reseaux[i].getPointsRoutes() + 4 * instantane.nbGares.get(i)
+                    + affectation.getScoreDestinations();
+            nbRealisees[i] = affectation.getNbDestinationsRealisees();
+            plusLongues[i] = reseaux[i].longueurPlusLongueRoute();
+            max = Math.max(max, plusLongues[i]);
+        }
+        List<Object> res = new ArrayList<>();
+        for (int i = 0; i < nbJoueurs; i++) {
+            if (max > 0 && plusLongues[i] == max) {
+                scores[i] += Jeu.BONUS_PLUS_LONG_CHEMIN;
+            }
+            HashMap<String, Object> data = new HashMap<>();
+            data.put("nom", instantane.noms.get(i));
+            data.put("score", scores[i]);
+            data.put("destinationsRealisees", nbRealisees[i]);
+            data.put("nbDestinations", instantane.destinations.get(i).size());
+            data.put("plusLongueRoute", plusLongues[i]);
+            res.add(data);
+        }
+        return Collections.unmodifiableList(res);
+    }
+}
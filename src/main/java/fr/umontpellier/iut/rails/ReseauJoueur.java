@@ -0,0 +1,139 @@
+package fr.umontpellier.iut.rails;
+
+import fr.umontpellier.iut.graphes.CacheParcours;
+import fr.umontpellier.iut.graphes.Parcours;
+
+import java.util.List;
+
+/**
+ * Réseau des routes capturées par un joueur, tenu à jour au fil de la partie
+ * <p>
+ * Le réseau est un {@link GrapheRoutes} dont la connexité est maintenue incrémentalement par le graphe
+ * (union-find mis à jour à chaque ajout de route) : savoir si une destination est réalisée ne demande
+ * que deux recherches de représentant, et le score peut être calculé à tout moment de la partie.
+ */
+public class ReseauJoueur {
+    /**
+     * Multigraphe des villes du plateau et des routes du joueur
+     */
+    private final GrapheRoutes routes;
+    /**
+     * Somme des points rapportés par les routes du réseau
+     */
+    private int pointsRoutes;
+    /**
+     * Nombre de modifications du réseau depuis sa création
+     */
+    private int version;
+    /**
+     * Plus long parcours du réseau, calculé pour la version {@code versionPlusLongParcours}
+     */
+    private Parcours plusLongParcours;
+    private int versionPlusLongParcours = -1;
+
+    /**
+     * Construit un réseau sans route sur les villes indiquées
+     *
+     * @param villes les villes du plateau
+     */
+    public ReseauJoueur(List<Ville> villes) {
+        this.routes = new GrapheRoutes(villes);
+    }
+
+    public GrapheRoutes getGrapheRoutes() {
+        return routes;
+    }
+
+    /**
+     * Fait mémoriser les plus longs parcours du réseau dans un cache (voir {@link CacheParcours})
+     *
+     * @param cache le cache, éventuellement partagé avec d'autres réseaux (null pour n'en utiliser aucun)
+     */
+    public synchronized void setCacheParcours(CacheParcours cache) {
+        routes.getGraphe().setCacheParcours(cache);
+    }
+
+    /**
+     * @return la somme des points rapportés par les routes du réseau
+     */
+    public synchronized int getPointsRoutes() {
+        return pointsRoutes;
+    }
+
+    /**
+     * @return le nombre de modifications du réseau depuis sa création (deux réseaux de même version
+     * ont les mêmes routes)
+     */
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    /**
+     * Ajoute une route au réseau (sans effet si elle y est déjà)
+     */
+    public synchronized void ajouterRoute(Route route) {
+        if (!routes.contient(route)) {
+            routes.ajouterRoute(route);
+            pointsRoutes += route.getPoints();
+            version++;
+        }
+    }
+
+    /**
+     * Retire une route du réseau (sans effet si elle n'y est pas)
+     */
+    public synchronized void retirerRoute(Route route) {
+        if (routes.contient(route)) {
+            routes.retirerRoute(route);
+            pointsRoutes -= route.getPoints();
+            version++;
+        }
+    }
+
+    /**
+     * @return vrai si les deux villes sont reliées par des routes du réseau
+     */
+    public synchronized boolean relie(Ville ville1, Ville ville2) {
+        return routes.getGraphe().sontConnectes(ville1.getId(), ville2.getId());
+    }
+
+    /**
+     * @param destination une destination
+     * @return vrai si les deux villes de la destination sont reliées par des routes du réseau
+     */
+    public synchronized boolean estRealisee(Destination destination) {
+        return routes.getGraphe().sontConnectes(destination.getIdVille1(), destination.getIdVille2());
+    }
+
+    /**
+     * Renvoie la plus longue suite de routes du réseau qui n'emprunte jamais deux fois la même route
+     * <p>
+     * Le résultat est conservé tant que le réseau ne change pas : seul un joueur qui a capturé ou perdu
+     * une route depuis le dernier appel provoque un nouveau calcul.
+     *
+     * @return le plus long parcours du réseau (les identifiants de ses arêtes se traduisent en routes
+     * avec {@link GrapheRoutes#getRoutes(Parcours)})
+     */
+    public synchronized Parcours getPlusLongParcours() {
+        if (versionPlusLongParcours != version) {
+            plusLongParcours = routes.getGraphe().calculerPlusLongParcours();
+            versionPlusLongParcours = version;
+        }
+        return plusLongParcours;
+    }
+
+    /**
+     * @return vrai si le plus long parcours du réseau est déjà calculé pour son état actuel
+     */
+    public synchronized boolean plusLongParcoursEstAJour() {
+        return versionPlusLongParcours == version;
+    }
+
+    /**
+     * @return le nombre de wagons de la plus longue suite de routes du réseau qui n'emprunte jamais deux fois
+     * la même route
+     */
+    public int longueurPlusLongueRoute() {
+        return getPlusLongParcours().getLongueur();
+    }
+}
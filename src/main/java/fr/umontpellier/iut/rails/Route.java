@@ -29,6 +29,15 @@ public class Route {
      * (voir la classe Plateau pour plus de clarté)
      */
     private String nom;
+    /**
+     * Identifiant de la route : son indice dans la liste des routes du plateau (-1 tant que la route
+     * n'appartient à aucun plateau)
+     */
+    private int id = -1;
+    /**
+     * Représentation HTML de la route (construite au premier appel de {@link #toLog()})
+     */
+    private String log;
 
     public Route(Ville ville1, Ville ville2, int longueur, CouleurWagon couleur) {
         this.ville1 = ville1;
@@ -39,6 +48,18 @@ public class Route {
         this.proprietaire = null;
     }
 
+    /**
+     * Construit une route sans propriétaire de mêmes caractéristiques et de même nom que le modèle, entre
+     * les villes indiquées (pour copier un plateau)
+     */
+    protected Route(Route modele, Ville ville1, Ville ville2) {
+        this.ville1 = ville1;
+        this.ville2 = ville2;
+        this.nom = modele.nom;
+        this.longueur = modele.longueur;
+        this.couleur = modele.couleur;
+    }
+
     public Ville getVille1() {
         return ville1;
     }
@@ -59,18 +80,70 @@ public class Route {
         return proprietaire;
     }
 
+    /**
+     * Change le propriétaire de la route ; les réseaux de l'ancien et du nouveau propriétaire
+     * sont mis à jour
+     *
+     * @param proprietaire le nouveau propriétaire (ou `null` pour libérer la route)
+     */
     public void setProprietaire(Joueur proprietaire) {
+        Joueur ancien = this.proprietaire;
         this.proprietaire = proprietaire;
+        if (ancien != proprietaire) {
+            if (ancien != null) {
+                ancien.retirerRouteDuReseau(this);
+            }
+            if (proprietaire != null) {
+                proprietaire.ajouterRouteAuReseau(this);
+            }
+            Jeu jeu = (proprietaire != null ? proprietaire : ancien).getJeu();
+            if (jeu != null) {
+                jeu.proprietaireRouteModifie(this, ancien);
+            }
+        }
+    }
+
+    /**
+     * @return le nombre de points que rapporte la capture de la route
+     */
+    public int getPoints() {
+        return switch (longueur) {
+            case 1 -> 1;
+            case 2 -> 2;
+            case 3 -> 4;
+            case 4 -> 7;
+            case 6 -> 15;
+            case 8 -> 21;
+            default -> 0;
+        };
     }
 
     public String getNom() {
         return nom;
     }
 
+    /**
+     * @return l'indice de la route dans la liste des routes du plateau
+     */
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
     public void setNom(String nom) {
         this.nom = nom;
     }
 
+    /**
+     * @return une copie de la route entre les villes indiquées (voir {@link #Route(Route, Ville, Ville)})
+     */
+    Route copier(Ville ville1, Ville ville2) {
+        return new Route(this, ville1, ville2);
+    }
+
     /**
      * @return un objet simple représentant les informations de la route
      */
@@ -105,13 +178,17 @@ public class Route {
      * @param joueur
      */
     public boolean capturerParJoueur(Joueur joueur) {
-        joueur.log(joueur.toLog() + " capture la route " + toLog());
+        boolean affichage = !joueur.getJeu().estSansAffichage();
+        if (affichage) {
+            joueur.log(joueur.toLog() + " capture la route " + toLog());
+        }
         joueur.payerCartesWagon(
                 longueur, couleur, 0,
-                String.format("Défaussez des cartes wagon pour capturer la route %s - %s.",
-                        ville1.getNom(),
-                        ville2.getNom()));
-        joueur.log("   ... défausse " + CouleurWagon.listToLog(joueur.getCartesWagonPosees()));
+                "Défaussez des cartes wagon pour capturer la route " + ville1.getNom() + " - "
+                        + ville2.getNom() + ".");
+        if (affichage) {
+            joueur.log("   ... défausse " + CouleurWagon.listToLog(joueur.getCartesWagonPosees()));
+        }
         joueur.defausserCartesWagonPosees();
         return true;
     }
@@ -122,6 +199,9 @@ public class Route {
     }
 
     public String toLog() {
-        return String.format("<span class=\"route\">%s - %s</span>", ville1.getNom(), ville2.getNom());
+        if (log == null) {
+            log = String.format("<span class=\"route\">%s - %s</span>", ville1.getNom(), ville2.getNom());
+        }
+        return log;
     }
 }
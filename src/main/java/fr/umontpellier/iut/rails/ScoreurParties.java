@@ -0,0 +1,115 @@
+package fr.umontpellier.iut.rails;
+
+import fr.umontpellier.iut.graphes.Graphe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Calcul en masse des scores de parties terminées (parties archivées ou simulées)
+ * <p>
+ * Les parties sont réparties entre les fils du pool commun. Chaque fil réutilise son propre brouillon
+ * (un multigraphe vidé entre deux joueurs, la table des propriétaires des routes et la liste des gares) :
+ * aucun {@link Graphe} n'est alloué par partie.
+ */
+public class ScoreurParties {
+    private final List<Ville> villes;
+    private final List<Route> routes;
+    private final Map<Ville, List<Route>> routesIncidentes;
+    /**
+     * Brouillon propre à chaque fil de calcul
+     */
+    private final ThreadLocal<Brouillon> brouillons;
+
+    /**
+     * Données de travail réutilisées d'une partie à l'autre par un même fil
+     */
+    private static final class Brouillon {
+        private final Graphe graphe;
+        /**
+         * proprietaires[r] est l'indice du joueur qui possède la route r (-1 si elle est libre)
+         */
+        private final int[] proprietaires;
+        private final List<Ville> gares = new ArrayList<>();
+
+        private Brouillon(int nbVilles, int nbRoutes) {
+            graphe = Graphe.multigraphe(nbVilles);
+            proprietaires = new int[nbRoutes];
+        }
+    }
+
+    /**
+     * @param plateau le plateau sur lequel les parties ont été jouées
+     */
+    public ScoreurParties(Plateau plateau) {
+        this.villes = plateau.getVilles();
+        this.routes = plateau.getRoutes();
+        this.routesIncidentes = plateau.getRoutesIncidentes();
+        this.brouillons = ThreadLocal.withInitial(() -> new Brouillon(villes.size(), routes.size()));
+    }
+
+    /**
+     * Calcule en parallèle les scores d'une collection de parties terminées
+     *
+     * @param parties les états finaux des parties
+     * @return pour chaque partie (dans l'ordre de la collection), le tableau des scores de ses joueurs
+     */
+    public List<int[]> calculerScores(Collection<EtatFinal> parties) {
+        return new ArrayList<>(parties).parallelStream()
+                .map(this::calculerScores)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Calcule les scores d'une partie terminée, selon les mêmes règles que {@link Jeu#calculerLesScores()}
+     *
+     * @param partie l'état final de la partie
+     * @return le tableau des scores des joueurs, dans l'ordre de {@link EtatFinal#getJoueurs()}
+     */
+    public int[] calculerScores(EtatFinal partie) {
+        Brouillon b = brouillons.get();
+        List<EtatFinal.EtatJoueur> joueurs = partie.getJoueurs();
+        Arrays.fill(b.proprietaires, -1);
+        for (int i = 0; i < joueurs.size(); i++) {
+            for (int r : joueurs.get(i).getRoutes()) {
+                b.proprietaires[r] = i;
+            }
+        }
+        int[] scores = new int[joueurs.size()];
+        int[] plusLongues = new int[joueurs.size()];
+        int max = 0;
+        for (int i = 0; i < joueurs.size(); i++) {
+            EtatFinal.EtatJoueur joueur = joueurs.get(i);
+            b.graphe.vider();
+            int points = 0;
+            for (int r : joueur.getRoutes()) {
+                Route route = routes.get(r);
+                b.graphe.creerArete(route.getVille1().getId(), route.getVille2().getId(), route.getLongueur());
+                points += route.getPoints();
+            }
+            b.gares.clear();
+            for (int v : joueur.getGares()) {
+                b.gares.add(villes.get(v));
+            }
+            final int indice = i;
+            AffectationGares affectation = new AffectationGares(b.graphe, b.gares, routesIncidentes,
+                    joueur.getDestinations(), route -> {
+                        int proprietaire = b.proprietaires[route.getId()];
+                        return proprietaire >= 0 && proprietaire != indice;
+                    });
+            scores[i] = points + 4 * joueur.getNbGaresRestantes() + affectation.getScoreDestinations();
+            plusLongues[i] = b.graphe.calculerPlusLongParcours().getLongueur();
+            max = Math.max(max, plusLongues[i]);
+        }
+        for (int i = 0; i < joueurs.size(); i++) {
+            if (max > 0 && plusLongues[i] == max) {
+                scores[i] += Jeu.BONUS_PLUS_LONG_CHEMIN;
+            }
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,33 @@
+package fr.umontpellier.iut.rails;
+
+import java.util.List;
+
+/**
+ * Stratégie d'un joueur automatique : elle remplace les entrées de l'utilisateur
+ * <p>
+ * Un joueur qui a une stratégie ({@link Joueur#setStrategie(Strategie)}) ne passe plus par
+ * {@link Jeu#prompt} ni par {@link Jeu#lireLigne()} : au début de son tour la stratégie choisit un coup
+ * parmi les coups possibles, et chaque choix secondaire (cartes à payer, destinations à défausser, seconde
+ * carte à prendre, etc.) lui est soumis avec la liste des réponses valides.
+ */
+public interface Strategie {
+    /**
+     * Choisit le coup à jouer au début du tour
+     *
+     * @param joueur le joueur dont c'est le tour
+     * @param coups  les coups possibles (non vide : {@link Coup#PASSER} figure toujours en dernier)
+     * @return un élément de {@code coups}
+     */
+    Coup choisirCoup(Joueur joueur, List<Coup> coups);
+
+    /**
+     * Fait un choix secondaire (voir {@link Joueur#choisir})
+     *
+     * @param joueur      le joueur qui doit choisir
+     * @param instruction l'instruction qui serait affichée à un joueur humain
+     * @param choix       les réponses valides, sans doublon (au moins deux, ou une seule si le joueur peut passer)
+     * @param peutPasser  vrai si le joueur peut passer (en renvoyant la chaîne vide)
+     * @return un élément de {@code choix}, ou la chaîne vide si le joueur peut passer
+     */
+    String choisir(Joueur joueur, String instruction, List<String> choix, boolean peutPasser);
+}
@@ -0,0 +1,51 @@
+package fr.umontpellier.iut.rails;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Stratégie qui joue au hasard parmi les coups possibles, avec une préférence pour la capture de routes
+ * (pour que les parties se terminent) ; elle sert de référence et de test de non-régression des règles
+ */
+public class StrategieAleatoire implements Strategie {
+    private final Random aleatoire;
+
+    public StrategieAleatoire(Random aleatoire) {
+        this.aleatoire = aleatoire;
+    }
+
+    public StrategieAleatoire(long graine) {
+        this(new Random(graine));
+    }
+
+    @Override
+    public Coup choisirCoup(Joueur joueur, List<Coup> coups) {
+        // les routes capturables sont regroupées après les cartes et avant les gares
+        int premiereRoute = -1;
+        int nbRoutes = 0;
+        for (int i = 0; i < coups.size(); i++) {
+            if (coups.get(i).getType() == Coup.Type.ROUTE) {
+                if (premiereRoute < 0) {
+                    premiereRoute = i;
+                }
+                nbRoutes++;
+            }
+        }
+        if (nbRoutes > 0 && aleatoire.nextInt(4) != 0) {
+            return coups.get(premiereRoute + aleatoire.nextInt(nbRoutes));
+        }
+        if (coups.size() == 1) {
+            return coups.get(0);
+        }
+        // tout sauf passer (le dernier coup)
+        return coups.get(aleatoire.nextInt(coups.size() - 1));
+    }
+
+    @Override
+    public String choisir(Joueur joueur, String instruction, List<String> choix, boolean peutPasser) {
+        if (peutPasser && aleatoire.nextInt(choix.size() + 1) == 0) {
+            return "";
+        }
+        return choix.get(aleatoire.nextInt(choix.size()));
+    }
+}
@@ -0,0 +1,335 @@
+package fr.umontpellier.iut.rails;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Tournoi de parties simulées entre stratégies, réparties entre plusieurs fils
+ * <p>
+ * Chaque partie est une tâche indépendante : elle construit son propre {@link Jeu} à partir de sa graine
+ * (la graine de la partie i est {@code premiereGraine + i}) et ses propres stratégies (dont les graines sont
+ * tirées de celle de la partie), et ne partage aucun état modifiable avec les autres parties. Un tournoi rejoué
+ * avec les mêmes graines donne donc exactement le même bilan, quel que soit le nombre de fils.
+ * <p>
+ * Les parties sont soumises à un exécuteur dont la file est bornée : quand elle est pleine, le fil qui soumet
+ * les parties joue lui-même la suivante, si bien que la mémoire occupée ne dépend pas du nombre de parties.
+ * Le résultat de chaque partie est ajouté dès sa fin à des compteurs sans verrou ({@link LongAdder},
+ * {@link AtomicLongArray}) partagés par tous les fils.
+ * <p>
+ * Les places tournent d'une partie à l'autre : dans la partie i, la stratégie k joue en position
+ * (k + i) modulo le nombre de joueurs, pour qu'aucune ne profite systématiquement de la place de premier joueur.
+ */
+public class Tournoi {
+    /**
+     * Nombre maximal de tours d'une partie, par défaut
+     */
+    public static final int NB_TOURS_MAX = 1000;
+
+    /**
+     * Noms des joueurs (un par stratégie)
+     */
+    private final List<String> noms;
+    /**
+     * Fabriques des stratégies : chacune construit une stratégie à partir d'une graine
+     */
+    private final List<LongFunction<? extends Strategie>> fabriques;
+    private int nbToursMax = NB_TOURS_MAX;
+
+    /**
+     * @param noms      les noms des joueurs, un par stratégie
+     * @param fabriques pour chaque joueur, la construction de sa stratégie à partir d'une graine (par exemple
+     *                  {@code StrategieAleatoire::new})
+     */
+    public Tournoi(List<String> noms, List<? extends LongFunction<? extends Strategie>> fabriques) {
+        if (noms.isEmpty() || noms.size() != fabriques.size()) {
+            throw new IllegalArgumentException("Il faut un nom par stratégie");
+        }
+        this.noms = new ArrayList<>(noms);
+        this.fabriques = new ArrayList<>(fabriques);
+    }
+
+    /**
+     * Limite le nombre de tours de chaque partie (voir {@link Jeu#setNbToursMax(int)})
+     */
+    public void setNbToursMax(int nbToursMax) {
+        this.nbToursMax = nbToursMax;
+    }
+
+    /**
+     * Joue les parties du tournoi et renvoie leur bilan
+     *
+     * @param premiereGraine la graine de la première partie (les suivantes ont les graines suivantes)
+     * @param nbParties      le nombre de parties à jouer
+     * @param nbFils         le nombre de fils qui jouent les parties
+     * @return le bilan du tournoi, stratégie par stratégie
+     * @throws InterruptedException si le fil appelant est interrompu pendant le tournoi (les parties en cours
+     *                              sont alors interrompues)
+     */
+    public Bilan jouer(long premiereGraine, int nbParties, int nbFils) throws InterruptedException {
+        Bilan bilan = new Bilan(fabriques.size());
+        AtomicReference<Throwable> erreur = new AtomicReference<>();
+        ThreadPoolExecutor executeur = new ThreadPoolExecutor(nbFils, nbFils, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(2 * nbFils), r -> {
+            Thread t = new Thread(r, "tournoi");
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            for (int i = 0; i < nbParties && erreur.get() == null; i++) {
+                long graine = premiereGraine + i;
+                int decalage = i % fabriques.size();
+                executeur.execute(() -> {
+                    try {
+                        jouerPartie(graine, decalage, bilan);
+                    } catch (Throwable e) {
+                        // une erreur (pas seulement une exception) ne doit pas tuer le fil en silence
+                        erreur.compareAndSet(null, e);
+                    }
+                });
+            }
+            executeur.shutdown();
+            executeur.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } finally {
+            executeur.shutdownNow();
+        }
+        if (erreur.get() != null) {
+            throw new IllegalStateException("Une partie du tournoi a échoué", erreur.get());
+        }
+        if (bilan.getNbParties() != nbParties) {
+            throw new IllegalStateException("Le bilan ne compte que " + bilan.getNbParties() + " parties sur "
+                    + nbParties);
+        }
+        return bilan;
+    }
+
+    /**
+     * Joue une partie et ajoute son résultat au bilan
+     *
+     * @param graine   la graine de la partie
+     * @param decalage décalage des places (la stratégie k joue en position (k + decalage) modulo le nombre
+     *                 de joueurs)
+     * @param bilan    le bilan du tournoi
+     */
+    void jouerPartie(long graine, int decalage, Bilan bilan) {
+        int n = fabriques.size();
+        int[] strategieEnPlace = new int[n];
+        String[] nomsPartie = new String[n];
+        List<Strategie> strategies = new ArrayList<>();
+        for (int place = 0; place < n; place++) {
+            int k = (place + n - decalage) % n;
+            strategieEnPlace[place] = k;
+            nomsPartie[place] = noms.get(k);
+            strategies.add(fabriques.get(k).apply(graine * 0x9E3779B97F4A7C15L + k));
+        }
+        Jeu jeu = new Jeu(nomsPartie, graine);
+        jeu.setStrategies(strategies);
+        jeu.setNbToursMax(nbToursMax);
+        jeu.run();
+
+        List<Joueur> joueurs = jeu.getJoueurs();
+        int[] scores = new int[n];
+        int[] nbRoutes = new int[n];
+        int[] nbGares = new int[n];
+        for (int place = 0; place < n; place++) {
+            scores[strategieEnPlace[place]] = joueurs.get(place).getScore();
+        }
+        for (Route route : jeu.getRoutes()) {
+            int place = joueurs.indexOf(route.getProprietaire());
+            if (place >= 0) {
+                nbRoutes[strategieEnPlace[place]]++;
+            }
+        }
+        for (Ville ville : jeu.getVilles()) {
+            int place = joueurs.indexOf(ville.getProprietaire());
+            if (place >= 0) {
+                nbGares[strategieEnPlace[place]]++;
+            }
+        }
+        bilan.ajouterPartie(scores, nbRoutes, nbGares, jeu.getNbTours() >= nbToursMax);
+    }
+
+    /**
+     * Bilan d'un tournoi, tenu à jour sans verrou par les fils qui jouent les parties
+     * <p>
+     * Les statistiques sont indexées par stratégie (dans l'ordre donné au tournoi), pas par place.
+     */
+    public static class Bilan {
+        /**
+         * Borne inférieure de la première classe de l'histogramme des scores (les scores inférieurs y sont comptés)
+         */
+        public static final int SCORE_MIN = -200;
+        /**
+         * Largeur d'une classe de l'histogramme des scores
+         */
+        public static final int LARGEUR_CLASSE = 10;
+        /**
+         * Nombre de classes de l'histogramme des scores (les scores au-delà de la dernière y sont comptés)
+         */
+        public static final int NB_CLASSES = 60;
+
+        private final int nbStrategies;
+        private final LongAdder nbParties = new LongAdder();
+        private final LongAdder nbPartiesInterrompues = new LongAdder();
+        private final LongAdder[] victoires;
+        private final LongAdder[] sommesScores;
+        private final LongAdder[] sommesCarresScores;
+        private final LongAdder[] sommesRoutes;
+        private final LongAdder[] sommesGares;
+        /**
+         * Histogrammes des scores : la classe c de la stratégie k est en {@code k * NB_CLASSES + c}
+         */
+        private final AtomicLongArray histogrammes;
+
+        Bilan(int nbStrategies) {
+            this.nbStrategies = nbStrategies;
+            victoires = compteurs(nbStrategies);
+            sommesScores = compteurs(nbStrategies);
+            sommesCarresScores = compteurs(nbStrategies);
+            sommesRoutes = compteurs(nbStrategies);
+            sommesGares = compteurs(nbStrategies);
+            histogrammes = new AtomicLongArray(nbStrategies * NB_CLASSES);
+        }
+
+        private static LongAdder[] compteurs(int n) {
+            LongAdder[] compteurs = new LongAdder[n];
+            for (int i = 0; i < n; i++) {
+                compteurs[i] = new LongAdder();
+            }
+            return compteurs;
+        }
+
+        /**
+         * Ajoute le résultat d'une partie (tableaux indexés par stratégie)
+         *
+         * @param interrompue vrai si la partie a atteint le nombre maximal de tours
+         */
+        void ajouterPartie(int[] scores, int[] nbRoutes, int[] nbGares, boolean interrompue) {
+            int max = Integer.MIN_VALUE;
+            for (int score : scores) {
+                max = Math.max(max, score);
+            }
+            for (int k = 0; k < nbStrategies; k++) {
+                int score = scores[k];
+                if (score == max) {
+                    victoires[k].increment();
+                }
+                sommesScores[k].add(score);
+                sommesCarresScores[k].add((long) score * score);
+                sommesRoutes[k].add(nbRoutes[k]);
+                sommesGares[k].add(nbGares[k]);
+                int classe = Math.floorDiv(score - SCORE_MIN, LARGEUR_CLASSE);
+                histogrammes.incrementAndGet(k * NB_CLASSES + Math.max(0, Math.min(NB_CLASSES - 1, classe)));
+            }
+            if (interrompue) {
+                nbPartiesInterrompues.increment();
+            }
+            nbParties.increment();
+        }
+
+        public int getNbStrategies() {
+            return nbStrategies;
+        }
+
+        public long getNbParties() {
+            return nbParties.sum();
+        }
+
+        /**
+         * @return le nombre de parties arrêtées au nombre maximal de tours
+         */
+        public long getNbPartiesInterrompues() {
+            return nbPartiesInterrompues.sum();
+        }
+
+        /**
+         * @return le nombre de parties gagnées par la stratégie (en cas d'égalité, tous les joueurs qui ont le
+         * meilleur score gagnent)
+         */
+        public long getNbVictoires(int strategie) {
+            return victoires[strategie].sum();
+        }
+
+        public double getTauxVictoire(int strategie) {
+            return moyenne(victoires[strategie]);
+        }
+
+        public double getScoreMoyen(int strategie) {
+            return moyenne(sommesScores[strategie]);
+        }
+
+        public double getEcartTypeScore(int strategie) {
+            double moyenne = getScoreMoyen(strategie);
+            return Math.sqrt(Math.max(0, moyenne(sommesCarresScores[strategie]) - moyenne * moyenne));
+        }
+
+        /**
+         * @return l'histogramme des scores de la stratégie : la classe c compte les scores compris entre
+         * {@code SCORE_MIN + c * LARGEUR_CLASSE} (inclus) et {@code SCORE_MIN + (c + 1) * LARGEUR_CLASSE} (exclu)
+         */
+        public long[] getHistogrammeScores(int strategie) {
+            long[] histogramme = new long[NB_CLASSES];
+            for (int c = 0; c < NB_CLASSES; c++) {
+                histogramme[c] = histogrammes.get(strategie * NB_CLASSES + c);
+            }
+            return histogramme;
+        }
+
+        /**
+         * @return le nombre moyen de routes capturées par la stratégie en une partie
+         */
+        public double getNbRoutesMoyen(int strategie) {
+            return moyenne(sommesRoutes[strategie]);
+        }
+
+        /**
+         * @return le nombre moyen de gares construites par la stratégie en une partie
+         */
+        public double getNbGaresMoyen(int strategie) {
+            return moyenne(sommesGares[strategie]);
+        }
+
+        private double moyenne(LongAdder somme) {
+            long n = nbParties.sum();
+            return n == 0 ? 0 : (double) somme.sum() / n;
+        }
+
+        @Override
+        public String toString() {
+            StringJoiner joiner = new StringJoiner("\n");
+            joiner.add(String.format("%d parties (%d interrompues)", getNbParties(), getNbPartiesInterrompues()));
+            for (int k = 0; k < nbStrategies; k++) {
+                joiner.add(String.format("  %d : victoires %.1f %%, score %.1f (écart type %.1f), routes %.1f, gares %.2f",
+                        k, 100 * getTauxVictoire(k), getScoreMoyen(k), getEcartTypeScore(k), getNbRoutesMoyen(k),
+                        getNbGaresMoyen(k)));
+            }
+            return joiner.toString();
+        }
+    }
+
+    /**
+     * Tournoi entre quatre stratégies aléatoires
+     *
+     * @param args le nombre de parties (10000 par défaut)
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int nbParties = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        List<LongFunction<StrategieAleatoire>> fabriques = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            fabriques.add(StrategieAleatoire::new);
+        }
+        Tournoi tournoi = new Tournoi(List.of("Guybrush", "Largo", "LeChuck", "Elaine"), fabriques);
+        long debut = System.nanoTime();
+        Bilan bilan = tournoi.jouer(0, nbParties, Runtime.getRuntime().availableProcessors());
+        double secondes = (System.nanoTime() - debut) / 1e9;
+        System.out.println(bilan);
+        System.out.printf("%.1f s (%.0f parties/s)%n", secondes, nbParties / secondes);
+    }
+}
@@ -9,6 +9,15 @@ public class Tunnel extends Route {
         super(ville1, ville2, longueur, couleur);
     }
 
+    private Tunnel(Tunnel modele, Ville ville1, Ville ville2) {
+        super(modele, ville1, ville2);
+    }
+
+    @Override
+    Route copier(Ville ville1, Ville ville2) {
+        return new Tunnel(this, ville1, ville2);
+    }
+
     @Override
     public String toString() {
         return "[" + super.toString() + "]";
@@ -16,14 +25,18 @@ public class Tunnel extends Route {
 
     @Override
     public boolean capturerParJoueur(Joueur joueur) {
-        joueur.log(joueur.toLog() + " capture le tunnel " + toLog());
+        boolean affichage = !joueur.getJeu().estSansAffichage();
+        if (affichage) {
+            joueur.log(joueur.toLog() + " capture le tunnel " + toLog());
+        }
         // le joueur défausse le coût initial du tunnel
         joueur.payerCartesWagon(
                 getLongueur(), getCouleur(), 0,
-                String.format("Défaussez des cartes wagon pour capturer le tunnel %s - %s.",
-                        getVille1().getNom(),
-                        getVille2().getNom()));
-        joueur.log("   ... pose " + CouleurWagon.listToLog(joueur.getCartesWagonPosees()));
+                "Défaussez des cartes wagon pour capturer le tunnel " + getVille1().getNom() + " - "
+                        + getVille2().getNom() + ".");
+        if (affichage) {
+            joueur.log("   ... pose " + CouleurWagon.listToLog(joueur.getCartesWagonPosees()));
+        }
 
         // la couleur du tunnel est la couleur des cartes "simples" que le joueur a
         // posées pour construire le tunnel (ou LOCOMOTIVE) si aucune couleur simple n'a
@@ -50,7 +63,9 @@ public class Tunnel extends Route {
                 coutTunnel++;
             }
         }
-        joueur.log("   ... retourne " + CouleurWagon.listToLog(cartesRetournees));
+        if (affichage) {
+            joueur.log("   ... retourne " + CouleurWagon.listToLog(cartesRetournees));
+        }
         // défausser toutes les cartes retournées
         while (!cartesRetournees.isEmpty()) {
             joueur.getJeu().defausserCarteWagon(cartesRetournees.remove(0));
@@ -67,8 +82,7 @@ public class Tunnel extends Route {
                 optionsPossibles.add(couleurTunnel.name());
             }
             String choix = joueur.choisir(
-                    String.format("Vous devez défausser %d cartes wagon supplémentaires pour construire le tunnel.",
-                            coutTunnel),
+                    "Vous devez défausser " + coutTunnel + " cartes wagon supplémentaires pour construire le tunnel.",
                     optionsPossibles,
                     new ArrayList<>(), true);
             if (choix.equals("")) {
@@ -81,7 +95,9 @@ public class Tunnel extends Route {
         }
         if (coutTunnel == 0) {
             // le tunnel est capturé
-            joueur.log("   ... défausse " + CouleurWagon.listToLog(joueur.getCartesWagonPosees()));
+            if (affichage) {
+                joueur.log("   ... défausse " + CouleurWagon.listToLog(joueur.getCartesWagonPosees()));
+            }
             joueur.defausserCartesWagonPosees();
             return true;
         } else {
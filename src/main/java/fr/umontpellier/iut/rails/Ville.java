@@ -11,21 +11,47 @@ public class Ville {
      * Joueur qui a construit une gare sur la ville (ou `null` si pas de gare)
      */
     private Joueur proprietaire;
+    /**
+     * Identifiant de la ville : son indice dans la liste des villes du plateau (-1 tant que la ville
+     * n'appartient à aucun plateau)
+     */
+    private int id;
+    /**
+     * Représentation HTML de la ville (construite au premier appel de {@link #toLog()})
+     */
+    private String log;
 
     public Ville(String nom) {
         this.nom = nom;
+        this.id = -1;
     }
 
     public String getNom() {
         return nom;
     }
+
+    /**
+     * @return l'indice de la ville dans la liste des villes du plateau (sommet correspondant dans les graphes)
+     */
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
     
     public Joueur getProprietaire() {
         return proprietaire;
     }
     
     public void setProprietaire(Joueur proprietaire) {
+        Joueur ancien = this.proprietaire;
         this.proprietaire = proprietaire;
+        Joueur joueur = proprietaire != null ? proprietaire : ancien;
+        if (joueur != null && joueur.getJeu() != null) {
+            joueur.getJeu().proprietaireVilleModifie(this);
+        }
     }
     
     @Override
@@ -34,7 +60,10 @@ public class Ville {
     }
 
     public String toLog() {
-        return String.format("<span class=\"ville\">%s</span>", nom);
+        if (log == null) {
+            log = String.format("<span class=\"ville\">%s</span>", nom);
+        }
+        return log;
     }
 
     public Object asPOJO() {
@@ -0,0 +1,137 @@
+package fr.umontpellier.iut.graphes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheParcoursTest {
+
+    /**
+     * Roue à 6 rayons : 12 arêtes, 6 sommets impairs (ni arbre, ni eulérienne, trop grosse pour l'énumération)
+     */
+    private static final int[][] ROUE = {
+            {0, 1, 1}, {0, 2, 2}, {0, 3, 3}, {0, 4, 4}, {0, 5, 5}, {0, 6, 6},
+            {1, 2, 2}, {2, 3, 1}, {3, 4, 2}, {4, 5, 1}, {5, 6, 2}, {6, 1, 1}
+    };
+
+    private static void verifierParcours(Graphe g, Parcours p) {
+        ArrayList<Integer> sommets = p.getSommets();
+        int longueur = 0;
+        for (int i = 0; i < p.nbAretes(); i++) {
+            int a = p.getAretes().get(i);
+            int u = sommets.get(i);
+            int v = sommets.get(i + 1);
+            assertTrue((g.extremite1(a) == u && g.extremite2(a) == v) || (g.extremite1(a) == v && g.extremite2(a) == u));
+            longueur += g.poidsArete(a);
+        }
+        assertEquals(p.getLongueur(), longueur);
+        assertEquals(p.nbAretes(), new HashSet<>(p.getAretes()).size());
+    }
+
+    @Test
+    void testMemeComposanteRetrouveeDansUnAutreGraphe() {
+        CacheParcours cache = new CacheParcours(CacheParcours.CAPACITE_PAR_DEFAUT);
+
+        Graphe g1 = Graphe.multigraphe(10);
+        g1.setCacheParcours(cache);
+        for (int[] a : ROUE) {
+            g1.creerArete(a[0], a[1], a[2]);
+        }
+        Parcours p1 = g1.calculerPlusLongParcours();
+        assertEquals(0, cache.getNbSucces());
+        assertEquals(1, cache.getNbEchecs());
+        assertEquals(1, cache.taille());
+        verifierParcours(g1, p1);
+
+        // mêmes arêtes, ajoutées dans l'ordre inverse après des arêtes supprimées (autres identifiants)
+        Graphe g2 = Graphe.multigraphe(10);
+        g2.setCacheParcours(cache);
+        g2.creerArete(8, 9, 1);
+        g2.supprimerAreteParId(0);
+        for (int i = ROUE.length - 1; i >= 0; i--) {
+            g2.creerArete(ROUE[i][1], ROUE[i][0], ROUE[i][2]);
+        }
+        Parcours p2 = g2.calculerPlusLongParcours();
+        assertEquals(1, cache.getNbSucces());
+        assertEquals(p1.getLongueur(), p2.getLongueur());
+        assertEquals(p1.getSommets(), p2.getSommets());
+        verifierParcours(g2, p2);
+
+        // une longueur différente donne une autre clé
+        g2.supprimerArete(0, 6);
+        g2.creerArete(0, 6, 7);
+        g2.calculerPlusLongParcours();
+        assertEquals(2, cache.getNbEchecs());
+        assertEquals(2, cache.taille());
+    }
+
+    @Test
+    void testGrapheSansCache() {
+        Graphe g = Graphe.multigraphe(10);
+        for (int[] a : ROUE) {
+            g.creerArete(a[0], a[1], a[2]);
+        }
+        assertNull(g.getCacheParcours());
+        Parcours p = g.calculerPlusLongParcours();
+        verifierParcours(g, p);
+
+        CacheParcours cache = new CacheParcours(16);
+        g.setCacheParcours(cache);
+        assertEquals(p.getLongueur(), g.calculerPlusLongParcours().getLongueur());
+        assertEquals(1, cache.taille());
+        g.setCacheParcours(null);
+        g.calculerPlusLongParcours();
+        assertEquals(1, cache.getNbEchecs() + cache.getNbSucces());
+    }
+
+    @Test
+    void testGrandsSommetsEtGrandesLongueurs() {
+        // sommets et longueurs au-delà de 16 bits : la forme canonique s'applique toujours
+        CacheParcours cache = new CacheParcours(16);
+        int decalage = 70000;
+        Graphe g1 = Graphe.multigraphe(decalage + 10);
+        Graphe g2 = Graphe.multigraphe(decalage + 10);
+        g1.setCacheParcours(cache);
+        g2.setCacheParcours(cache);
+        for (int[] a : ROUE) {
+            g1.creerArete(decalage + a[0], decalage + a[1], 100000 * a[2]);
+        }
+        for (int i = ROUE.length - 1; i >= 0; i--) {
+            g2.creerArete(decalage + ROUE[i][1], decalage + ROUE[i][0], 100000 * ROUE[i][2]);
+        }
+        Parcours p1 = g1.calculerPlusLongParcours();
+        Parcours p2 = g2.calculerPlusLongParcours();
+        assertEquals(1, cache.getNbEchecs());
+        assertEquals(1, cache.getNbSucces());
+        assertEquals(p1.getLongueur(), p2.getLongueur());
+        verifierParcours(g1, p1);
+        verifierParcours(g2, p2);
+
+        // même résultat que sans cache
+        Graphe g3 = Graphe.multigraphe(10);
+        for (int[] a : ROUE) {
+            g3.creerArete(a[0], a[1], a[2]);
+        }
+        assertEquals(100000L * g3.calculerPlusLongParcours().getLongueur(), p1.getLongueur());
+    }
+
+    @Test
+    void testEvictionDesMoinsRecents() {
+        CacheParcours cache = new CacheParcours(2);
+        CacheParcours.Cle a = new CacheParcours.Cle(new long[]{1});
+        CacheParcours.Cle b = new CacheParcours.Cle(new long[]{2});
+        CacheParcours.Cle c = new CacheParcours.Cle(new long[]{3});
+        cache.ajouter(a, new CacheParcours.Entree(new int[0], new int[0], 0));
+        cache.ajouter(b, new CacheParcours.Entree(new int[0], new int[0], 0));
+        assertNotNull(cache.chercher(a));
+        cache.ajouter(c, new CacheParcours.Entree(new int[0], new int[0], 0));
+        assertEquals(2, cache.taille());
+        assertNull(cache.chercher(b));
+        assertNotNull(cache.chercher(a));
+        assertEquals(2, cache.getNbSucces());
+        assertEquals(1, cache.getNbEchecs());
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -117,6 +119,264 @@ public class GrapheTest {
         Graphe g = buildGraphe(6, new int[][]{{0,1,1}, {1,2,1}, {2,4,1}, {4,5,1}});
         assertFalse(g.estConnexe());
     }
-    
-    
+
+    @Test
+    void testRepresentationCreuse() {
+        Graphe g = new Graphe(5, true);
+        g.ajouterArete(0, 1, 3);
+        g.ajouterArete(1, 2, 1);
+        g.ajouterArete(2, 0, 4);
+        g.ajouterArete(1, 0, 2);
+        assertTrue(g.estCreux());
+        assertEquals(3, g.nbAretes());
+        assertTrue(g.existeArete(1, 0));
+        assertEquals(2, g.poids(0, 1));
+        assertEquals(2, g.degre(0));
+
+        g.supprimerArete(0, 2);
+        assertFalse(g.existeArete(2, 0));
+        assertEquals(2, g.nbAretes());
+        assertEquals(1, g.degre(2));
+        assertEquals(1, g.voisin(2, 0));
+
+        ArrayList<Integer> voisins = new ArrayList<>();
+        voisins.add(0);
+        voisins.add(2);
+        assertEquals(voisins, g.voisins(1));
+    }
+
+    @Test
+    void testGrandGrapheCreux() {
+        int n = 100000;
+        Graphe g = new Graphe(n);
+        for (int i = 0; i < n - 1; i++) {
+            g.ajouterArete(i, i + 1, 1);
+        }
+        assertTrue(g.estCreux());
+        assertEquals(n - 1, g.nbAretes());
+        assertTrue(g.existeArete(500, 499));
+        assertEquals(2, g.degre(500));
+    }
+
+    @Test
+    void testNbCCApresAjoutEtSuppression() {
+        Graphe g = buildGraphe(6, new int[][]{{0,1,1}, {1,2,1}, {3,4,1}});
+        assertEquals(3, g.nbCC());
+        assertTrue(g.sontConnectes(0, 2));
+        assertFalse(g.sontConnectes(2, 3));
+
+        g.ajouterArete(2, 3, 1);
+        assertEquals(2, g.nbCC());
+        assertTrue(g.sontConnectes(0, 4));
+
+        g.supprimerArete(1, 2);
+        assertEquals(3, g.nbCC());
+        assertFalse(g.sontConnectes(0, 4));
+        assertTrue(g.sontConnectes(2, 4));
+    }
+
+    @Test
+    void testEtiquettesDeConnexite() {
+        Graphe g = buildGraphe(5, new int[][]{{0,3,1}, {1,4,1}});
+        assertArrayEquals(new int[]{0, 1, 2, 0, 1}, g.calculerEtiquettesDeConnexite());
+    }
+
+    @Test
+    void testEstUnIsthmeNeModifiePasLeGraphe() {
+        Graphe g = buildGraphe(4,new int[][]{{0,1,1},{2,3,1},{2,1,1},{1,3,1}});
+        assertTrue(g.estUnIsthme(0,1));
+        assertTrue(g.existeArete(0,1));
+        assertEquals(4, g.nbAretes());
+        assertFalse(g.estUnIsthme(0,2));
+    }
+
+    @Test
+    void testCalculerIsthmes() {
+        // deux triangles reliés par l'arête 2-3, plus une arête pendante 5-6
+        Graphe g = buildGraphe(8, new int[][]{{0,1,1},{1,2,1},{2,0,1},{2,3,1},{3,4,1},{4,5,1},{5,3,1},{5,6,1}});
+        HashSet<HashSet<Integer>> isthmes = new HashSet<>();
+        for (ArrayList<Integer> isthme : g.calculerIsthmes()) {
+            isthmes.add(new HashSet<>(isthme));
+        }
+        HashSet<HashSet<Integer>> answer = new HashSet<>();
+        answer.add(new HashSet<>(List.of(2, 3)));
+        answer.add(new HashSet<>(List.of(5, 6)));
+        assertEquals(answer, isthmes);
+        assertEquals(4, g.calculerClassesDeDeuxAreteConnexite().size());
+
+        g.ajouterArete(6, 0, 1);
+        assertFalse(g.estUnIsthme(2, 3));
+        assertTrue(g.calculerIsthmes().isEmpty());
+    }
+
+    @Test
+    void testPlusLongParcoursArbrePondere() {
+        Graphe g = buildGraphe(7, new int[][]{{0,1,2},{1,2,3},{1,3,1},{3,4,4},{3,5,1},{5,6,6}});
+        Parcours p = g.calculerPlusLongParcours();
+        assertEquals(11, p.getLongueur());
+        assertEquals(List.of(2, 1, 3, 5, 6), p.getSommets());
+    }
+
+    private static int plusLongParcoursExhaustif(Graphe g, int u, HashSet<Integer> utilisees) {
+        int meilleur = 0;
+        for (int k = 0; k < g.degre(u); k++) {
+            if (utilisees.add(g.areteVoisin(u, k))) {
+                meilleur = Math.max(meilleur, g.poidsVoisin(u, k)
+                        + plusLongParcoursExhaustif(g, g.voisin(u, k), utilisees));
+                utilisees.remove(g.areteVoisin(u, k));
+            }
+        }
+        return meilleur;
+    }
+
+    @Test
+    void testPlusLongParcoursCheminsRapidesEtRechercheGenerale() {
+        // arbres (diamètre), petites composantes (énumération) et composantes plus grosses (recherche générale)
+        Random random = new Random(3);
+        for (int essai = 0; essai < 60; essai++) {
+            int n = 8;
+            Graphe g = new Graphe(n);
+            for (int v = 1; v < n; v++) {
+                g.ajouterArete(v, random.nextInt(v), 1 + random.nextInt(6));
+            }
+            for (int extra = essai % 8; extra > 0; extra--) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                if (u != v && !g.existeArete(u, v)) {
+                    g.ajouterArete(u, v, 1 + random.nextInt(6));
+                }
+            }
+            int attendu = 0;
+            for (int u = 0; u < n; u++) {
+                attendu = Math.max(attendu, plusLongParcoursExhaustif(g, u, new HashSet<>()));
+            }
+            Parcours p = g.calculerPlusLongParcours();
+            assertEquals(attendu, p.getLongueur());
+            int longueur = 0;
+            for (int i = 0; i < p.nbAretes(); i++) {
+                assertTrue(g.existeArete(p.getSommets().get(i), p.getSommets().get(i + 1)));
+                longueur += g.poids(p.getSommets().get(i), p.getSommets().get(i + 1));
+            }
+            assertEquals(attendu, longueur);
+            assertEquals(p.nbAretes(), new HashSet<>(p.getAretes()).size());
+        }
+    }
+
+    @Test
+    void testPlusLongParcoursPlusieursComposantes() {
+        // un triangle de longueur 6 et une chaîne de longueur 8
+        Graphe g = buildGraphe(7, new int[][]{{0,1,2},{1,2,2},{2,0,2},{3,4,1},{4,5,3},{5,6,4}});
+        Parcours p = g.calculerPlusLongParcours();
+        assertEquals(8, p.getLongueur());
+        assertEquals(List.of(3, 4, 5, 6), p.getSommets());
+    }
+
+    @Test
+    void testPlusLongParcoursGrapheSansArete() {
+        Graphe g = new Graphe(3);
+        assertEquals(0, g.calculerPlusLongParcours().getLongueur());
+        assertTrue(g.plusLongChemin().isEmpty());
+    }
+
+    @Test
+    void testEvaluerComposantesEnParallele() {
+        // 200 composantes : des triangles (eulériens) et des étoiles à 3 branches (arbres)
+        Graphe g = new Graphe(800);
+        for (int c = 0; c < 200; c++) {
+            int s = 4 * c;
+            if (c % 2 == 0) {
+                g.ajouterArete(s, s + 1, 1);
+                g.ajouterArete(s + 1, s + 2, 1);
+                g.ajouterArete(s + 2, s, 1);
+            } else {
+                g.ajouterArete(s, s + 1, 1);
+                g.ajouterArete(s, s + 2, 2);
+                g.ajouterArete(s, s + 3, c);
+            }
+        }
+        ArrayList<BilanComposante> bilans = g.evaluerComposantes(true);
+        assertEquals(g.nbCC(), bilans.size());
+        BilanComposante triangle = bilans.get(0);
+        assertTrue(triangle.estEulerienne());
+        assertFalse(triangle.estUnArbre());
+        assertEquals(3, triangle.getPlusLongParcours().getLongueur());
+        BilanComposante etoile = bilans.get(2);
+        assertFalse(etoile.estEulerienne());
+        assertTrue(etoile.estUnArbre());
+        assertEquals(3, etoile.getPlusLongParcours().getLongueur());
+
+        assertEquals(199 + 2, g.calculerPlusLongParcours(true).getLongueur());
+        assertEquals(g.calculerPlusLongParcours().getLongueur(), g.calculerPlusLongParcours(true).getLongueur());
+    }
+
+    @Test
+    void testCalculerParcoursEulerien() {
+        // deux triangles qui partagent le sommet 2, et un sommet isolé
+        Graphe g = buildGraphe(6, new int[][]{{0,1,1},{1,2,1},{2,0,1},{2,3,1},{3,4,1},{4,2,1}});
+        assertEquals(0, g.nbSommetsImpairs());
+        ArrayList<Integer> cycle = g.calculerParcoursEulerien();
+        assertEquals(7, cycle.size());
+        assertEquals(cycle.get(0), cycle.get(6));
+
+        g.supprimerArete(0, 1);
+        assertEquals(2, g.nbSommetsImpairs());
+        assertEquals(List.of(0, 2, 3, 4, 2, 1), g.calculerParcoursEulerien());
+
+        g.supprimerArete(3, 4);
+        assertEquals(4, g.nbSommetsImpairs());
+        assertTrue(g.calculerParcoursEulerien().isEmpty());
+    }
+
+    @Test
+    void testAnalyseConserveeTantQueLeGrapheNeChangePas() {
+        // deux triangles reliés par l'arête 2-3
+        Graphe g = buildGraphe(7, new int[][]{{0,1,1},{1,2,1},{2,0,1},{2,3,1},{3,4,1},{4,5,1},{5,3,1}});
+        AnalyseGraphe a = g.analyser();
+        assertSame(a, g.analyser());
+        assertEquals(2, a.nbCC());
+        assertFalse(a.estUneForet());
+        assertTrue(a.classeEstEulerienne(a.classe(0)));
+        assertEquals(List.of(2, 3), g.calculerPointsDArticulation());
+        assertTrue(g.estUnIsthme(3, 2));
+
+        g.ajouterArete(0, 6, 1);
+        AnalyseGraphe b = g.analyser();
+        assertNotSame(a, b);
+        assertTrue(b.estConnexe());
+        assertEquals(List.of(0, 2, 3), b.getPointsDArticulation());
+    }
+
+    @Test
+    void testEstUneForet() {
+        Graphe g = buildGraphe(6, new int[][]{{0,1,1}, {1,2,1}, {3,4,1}});
+        assertTrue(g.estUneForet());
+        assertFalse(g.estUnArbre());
+        g.ajouterArete(2, 0, 1);
+        assertFalse(g.estUneForet());
+    }
+
+    @Test
+    void testMultigrapheIdentifiantsStables() {
+        Graphe g = Graphe.multigraphe(3);
+        int a = g.creerArete(0, 1, 2);
+        int b = g.creerArete(0, 1, 3);
+        int c = g.creerArete(1, 2, 1);
+        assertEquals(3, g.nbAretes());
+        assertEquals(2, g.degre(0));
+        assertEquals(List.of(1), g.voisins(0));
+        assertEquals(List.of(0, 2), g.voisins(1));
+
+        // seuls 1 et 2 sont de degré impair : 1 -> 0 -> 1 -> 2
+        Parcours p = g.calculerPlusLongParcours();
+        assertEquals(6, p.getLongueur());
+        assertEquals(List.of(1, 0, 1, 2), p.getSommets());
+        assertTrue(p.getAretes().containsAll(List.of(a, b, c)));
+
+        g.supprimerAreteParId(a);
+        assertFalse(g.existeAreteParId(a));
+        assertTrue(g.existeArete(0, 1));
+        assertEquals(3, g.poidsArete(b));
+        assertEquals(1, g.extremite1(c));
+        assertTrue(g.estUnIsthme(0, 1));
+    }
 }
@@ -0,0 +1,75 @@
+package fr.umontpellier.iut.graphes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PetitGrapheTest {
+
+    @Test
+    void testConnexiteSurDeuxMots() {
+        PetitGraphe g = new PetitGraphe(100);
+        // une chaîne 0 - 70 - 5 - 99 qui traverse la frontière entre les deux mots
+        g.ajouterArete(0, 70, 3);
+        g.ajouterArete(70, 5, 2);
+        g.ajouterArete(5, 99, 1);
+        assertTrue(g.sontConnectes(0, 99));
+        assertFalse(g.sontConnectes(0, 1));
+        assertEquals(97, g.nbCC());
+        assertEquals(List.of(0, 5), g.voisins(70));
+        assertEquals(2, g.degre(70));
+        assertTrue(g.estUnIsthme(70, 5));
+        assertEquals(3, g.nbAretes());
+        assertTrue(g.estUneForet());
+
+        g.ajouterArete(0, 99, 4);
+        assertFalse(g.estUnIsthme(70, 5));
+        assertFalse(g.estUneForet());
+        g.supprimerArete(0, 99);
+        assertEquals(3, g.nbAretes());
+        assertTrue(g.estUneForet());
+    }
+
+    @Test
+    void testGrapheVideCommeGraphe() {
+        Graphe g = new Graphe(0);
+        PetitGraphe p = new PetitGraphe(0);
+        assertEquals(g.nbCC(), p.nbCC());
+        assertEquals(g.estConnexe(), p.estConnexe());
+        assertEquals(g.estUnArbre(), p.estUnArbre());
+        assertEquals(g.existeParcoursEulerien(), p.existeParcoursEulerien());
+    }
+
+    @Test
+    void testMemesResultatsQueGraphe() {
+        Random r = new Random(47);
+        for (int essai = 0; essai < 50; essai++) {
+            int n = 1 + r.nextInt(PetitGraphe.ORDRE_MAX);
+            Graphe g = new Graphe(n);
+            for (int k = r.nextInt(2 * n); k > 0; k--) {
+                int u = r.nextInt(n);
+                int v = r.nextInt(n);
+                if (u != v) {
+                    g.ajouterArete(u, v, 1 + r.nextInt(6));
+                }
+            }
+            PetitGraphe p = PetitGraphe.depuis(g);
+            assertEquals(g.nbAretes(), p.nbAretes());
+            assertEquals(g.nbCC(), p.nbCC());
+            assertEquals(g.calculerClassesDeConnexite(), p.calculerClassesDeConnexite());
+            assertEquals(g.estUnArbre(), p.estUnArbre());
+            assertEquals(g.estUneForet(), p.estUneForet());
+            assertEquals(g.existeParcoursEulerien(), p.existeParcoursEulerien());
+            for (int u = 0; u < n; u++) {
+                assertEquals(g.voisins(u), p.voisins(u));
+                for (int k = 0; k < g.degre(u); k++) {
+                    assertEquals(g.estUnIsthme(u, g.voisin(u, k)), p.estUnIsthme(u, g.voisin(u, k)));
+                }
+            }
+            assertEquals(g.toString(), p.versGraphe().toString());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package fr.umontpellier.iut.graphes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlusCourtsCheminsTest {
+
+    @Test
+    void testDistancesEtChemins() {
+        Graphe g = Graphe.multigraphe(5);
+        g.creerArete(0, 1, 4);
+        g.creerArete(0, 1, 1);
+        g.creerArete(1, 2, 2);
+        g.creerArete(0, 2, 5);
+        g.creerArete(2, 3, 1);
+        PlusCourtsChemins t = PlusCourtsChemins.calculer(g);
+        assertEquals(1, t.distance(0, 1));
+        assertEquals(4, t.distance(0, 3));
+        assertEquals(List.of(0, 1, 2, 3), t.chemin(0, 3));
+        assertEquals(List.of(3, 2, 1, 0), t.chemin(3, 0));
+        assertEquals(PlusCourtsChemins.INFINI, t.distance(0, 4));
+        assertTrue(t.chemin(4, 0).isEmpty());
+        assertEquals(List.of(4), t.chemin(4, 4));
+    }
+
+    @Test
+    void testDijkstraEtFloydWarshallDonnentLesMemesDistances() {
+        Random r = new Random(16);
+        int n = 60;
+        Graphe g = new Graphe(n);
+        for (int k = 0; k < 150; k++) {
+            int u = r.nextInt(n);
+            int v = r.nextInt(n);
+            if (u != v) {
+                g.ajouterArete(u, v, 1 + r.nextInt(6));
+            }
+        }
+        PlusCourtsChemins floyd = PlusCourtsChemins.floydWarshall(g);
+        PlusCourtsChemins dijkstra = PlusCourtsChemins.dijkstra(g);
+        for (int u = 0; u < n; u++) {
+            for (int v = 0; v < n; v++) {
+                assertEquals(floyd.distance(u, v), dijkstra.distance(u, v));
+                // le chemin reconstruit a bien la longueur annoncée
+                List<Integer> chemin = dijkstra.chemin(u, v);
+                int longueur = 0;
+                for (int i = 0; i + 1 < chemin.size(); i++) {
+                    longueur += g.poids(chemin.get(i), chemin.get(i + 1));
+                }
+                if (!chemin.isEmpty()) {
+                    assertEquals(dijkstra.distance(u, v), longueur);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testEnregistrementEtChargement(@TempDir Path dossier) throws IOException {
+        Graphe g = new Graphe(4);
+        g.ajouterArete(0, 1, 2);
+        g.ajouterArete(1, 2, 3);
+        Path fichier = dossier.resolve("table.bin");
+        PlusCourtsChemins t = PlusCourtsChemins.chargerOuCalculer(g, fichier);
+        PlusCourtsChemins relue = PlusCourtsChemins.charger(fichier);
+        assertEquals(t.getEmpreinte(), relue.getEmpreinte());
+        assertEquals(5, relue.distance(0, 2));
+        assertEquals(List.of(0, 1, 2), relue.chemin(0, 2));
+
+        // le graphe a changé : la table enregistrée n'est plus utilisée
+        g.ajouterArete(0, 2, 1);
+        assertEquals(1, PlusCourtsChemins.chargerOuCalculer(g, fichier).distance(0, 2));
+        assertEquals(1, PlusCourtsChemins.charger(fichier).distance(0, 2));
+    }
+
+    @Test
+    void testEnTeteCorrompu(@TempDir Path dossier) throws IOException {
+        Graphe g = new Graphe(4);
+        g.ajouterArete(0, 1, 2);
+        g.ajouterArete(1, 2, 3);
+        Path fichier = dossier.resolve("table.bin");
+        PlusCourtsChemins.calculer(g).enregistrer(fichier);
+        for (int n : new int[] { -1, 5, Integer.MAX_VALUE }) {
+            // le nombre de sommets suit le nombre magique
+            byte[] octets = Files.readAllBytes(fichier);
+            ByteBuffer.wrap(octets).putInt(4, n);
+            Files.write(fichier, octets);
+            assertThrows(IOException.class, () -> PlusCourtsChemins.charger(fichier));
+
+            // le fichier illisible est remplacé par la table recalculée
+            assertEquals(5, PlusCourtsChemins.chargerOuCalculer(g, fichier).distance(0, 2));
+            assertEquals(5, PlusCourtsChemins.charger(fichier).distance(0, 2));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package fr.umontpellier.iut.rails;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static fr.umontpellier.iut.rails.TestUtils.creerJeu;
+import static fr.umontpellier.iut.rails.TestUtils.getRouteParNom;
+import static fr.umontpellier.iut.rails.TestUtils.getVilleParNom;
+
+public class AffectationGaresTest {
+    private IOJeu jeu;
+    private Joueur joueur1;
+    private Joueur joueur2;
+
+    @BeforeEach
+    void init() {
+        jeu = creerJeu(4);
+        joueur1 = jeu.getJoueurs().get(0);
+        joueur2 = jeu.getJoueurs().get(1);
+    }
+
+    @Test
+    void testGareEmprunteLaRouteQuiRealiseLaDestination() {
+        getRouteParNom(jeu, "Brest - Paris").setProprietaire(joueur1);
+        getRouteParNom(jeu, "Bruxelles - Frankfurt").setProprietaire(joueur1);
+        getRouteParNom(jeu, "Bruxelles - Paris(1)").setProprietaire(joueur2);
+        getRouteParNom(jeu, "Marseille - Paris").setProprietaire(joueur2);
+        joueur1.getDestinations().add(new Destination("Brest", "Frankfurt", 6));
+
+        assertEquals(-6, AffectationGares.calculer(joueur1).getScoreDestinations());
+
+        getVilleParNom(jeu, "Paris").setProprietaire(joueur1);
+        AffectationGares affectation = AffectationGares.calculer(joueur1);
+        assertEquals(6, affectation.getScoreDestinations());
+        assertEquals(Map.of(getVilleParNom(jeu, "Paris"), getRouteParNom(jeu, "Bruxelles - Paris(1)")),
+                affectation.getRoutesEmpruntees());
+    }
+
+    @Test
+    void testDeuxGaresReliesParUneVilleIntermediaire() {
+        // Brest et Frankfurt (au joueur 1) ne sont reliées que par Paris - Bruxelles,
+        // en passant par les gares de Paris et Bruxelles et les routes du joueur 2
+        getRouteParNom(jeu, "Brest - Paris").setProprietaire(joueur1);
+        getRouteParNom(jeu, "Bruxelles - Frankfurt").setProprietaire(joueur1);
+        getRouteParNom(jeu, "Dieppe - Paris").setProprietaire(joueur2);
+        getRouteParNom(jeu, "Bruxelles - Dieppe").setProprietaire(joueur2);
+        getVilleParNom(jeu, "Paris").setProprietaire(joueur1);
+        getVilleParNom(jeu, "Bruxelles").setProprietaire(joueur1);
+        joueur1.getDestinations().add(new Destination("Brest", "Frankfurt", 6));
+        joueur1.getDestinations().add(new Destination("Madrid", "Zurich", 8));
+
+        AffectationGares affectation = AffectationGares.calculer(joueur1);
+        assertEquals(6 - 8, affectation.getScoreDestinations());
+        assertEquals(2, affectation.getRoutesEmpruntees().size());
+
+        // les destinations réalisées grâce aux gares sont comptées dans le score final
+        List<Integer> scores = jeu.calculerLesScores();
+        assertEquals(4 + 2 + 12 + 6 - 8 + 10, scores.get(0));
+    }
+}
@@ -0,0 +1,70 @@
+package fr.umontpellier.iut.rails;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static fr.umontpellier.iut.rails.TestUtils.creerJeu;
+import static fr.umontpellier.iut.rails.TestUtils.getRouteParNom;
+
+public class CoupTest {
+    private IOJeu jeu;
+    private Joueur joueur1;
+    private Joueur joueur2;
+
+    @BeforeEach
+    void init() {
+        jeu = creerJeu(2);
+        joueur1 = jeu.getJoueurs().get(0);
+        joueur2 = jeu.getJoueurs().get(1);
+    }
+
+    @Test
+    void testCoupsPossiblesSuiventLesCapturesEtLesGares() {
+        List<CouleurWagon> cartes = joueur1.getCartesWagon();
+        cartes.clear();
+        for (int i = 0; i < 3; i++) {
+            cartes.add(CouleurWagon.NOIR);
+        }
+        Route brestParis = getRouteParNom(jeu, "Brest - Paris");
+        Ville paris = brestParis.getVille2();
+
+        List<Coup> coups = joueur1.coupsPossibles();
+        assertTrue(coups.contains(Coup.route(brestParis)));
+        assertTrue(coups.contains(Coup.gare(paris)));
+        assertTrue(coups.contains(Coup.DESTINATIONS));
+        assertTrue(coups.contains(Coup.CARTE_PIOCHE));
+        assertEquals(Coup.PASSER, coups.get(coups.size() - 1));
+        for (CouleurWagon c : jeu.getCartesWagonVisibles()) {
+            assertTrue(coups.contains(Coup.carteVisible(c)));
+        }
+
+        brestParis.setProprietaire(joueur2);
+        paris.setProprietaire(joueur2);
+        coups = joueur1.coupsPossibles();
+        assertFalse(coups.contains(Coup.route(brestParis)));
+        assertFalse(coups.contains(Coup.gare(paris)));
+
+        brestParis.setProprietaire(null);
+        assertTrue(joueur1.coupsPossibles().contains(Coup.route(brestParis)));
+    }
+
+    @Test
+    void testJouerCoupCaptureLaRoute() {
+        List<CouleurWagon> cartes = joueur1.getCartesWagon();
+        cartes.clear();
+        for (int i = 0; i < 3; i++) {
+            cartes.add(CouleurWagon.NOIR);
+        }
+        Route brestParis = getRouteParNom(jeu, "Brest - Paris");
+        assertEquals("Brest - Paris", Coup.route(brestParis).getOption(jeu));
+
+        joueur1.jouerCoup(Coup.route(brestParis));
+        assertEquals(joueur1, brestParis.getProprietaire());
+        assertTrue(cartes.isEmpty());
+        assertEquals(42, joueur1.getNbWagons());
+        assertFalse(joueur1.coupsPossibles().contains(Coup.route(brestParis)));
+    }
+}
@@ -0,0 +1,77 @@
+package fr.umontpellier.iut.rails;
+
+import fr.umontpellier.iut.graphes.PlusCourtsChemins;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static fr.umontpellier.iut.rails.TestUtils.creerJeu;
+import static fr.umontpellier.iut.rails.TestUtils.getRouteParNom;
+
+public class CoutsDestinationsTest {
+    private IOJeu jeu;
+    private Joueur joueur1;
+    private Joueur joueur2;
+
+    @BeforeEach
+    void init() {
+        jeu = creerJeu(4);
+        joueur1 = jeu.getJoueurs().get(0);
+        joueur2 = jeu.getJoueurs().get(1);
+    }
+
+    @Test
+    void testCoutsSuiventLesCaptures() {
+        CoutsDestinations couts = jeu.getCoutsDestinations();
+        Destination brestParis = new Destination("Brest", "Paris", 3);
+        Destination brestFrankfurt = new Destination("Brest", "Frankfurt", 6);
+        int brest = brestParis.getIdVille1();
+        int paris = brestParis.getIdVille2();
+        int frankfurt = brestFrankfurt.getIdVille2();
+
+        assertEquals(jeu.getDistances().distance(brest, paris), couts.getCout(joueur1, brestParis));
+        assertEquals(jeu.getDistances().distance(brest, frankfurt), couts.getCout(joueur1, brestFrankfurt));
+
+        getRouteParNom(jeu, "Brest - Paris").setProprietaire(joueur1);
+        assertEquals(0, couts.getCout(joueur1, brestParis));
+        assertEquals(jeu.getDistances().distance(paris, frankfurt), couts.getCout(joueur1, brestFrankfurt));
+
+        // pour le joueur 2, Brest n'est plus reliée à Paris que par Dieppe (2 + 1) ou Pamplona
+        assertEquals(3, couts.getCout(joueur2, brestParis));
+        getRouteParNom(jeu, "Brest - Dieppe").setProprietaire(joueur1);
+        assertTrue(couts.getCout(joueur2, brestParis) > 3);
+
+        getRouteParNom(jeu, "Brest - Pamplona").setProprietaire(joueur1);
+        assertEquals(PlusCourtsChemins.INFINI, couts.getCout(joueur2, brestParis));
+
+        getRouteParNom(jeu, "Brest - Dieppe").setProprietaire(null);
+        assertTrue(couts.getCout(joueur2, brestParis) < PlusCourtsChemins.INFINI);
+    }
+
+    @Test
+    void testMiseAJourIncrementaleIdentiqueAuRecalcul() {
+        Random random = new Random(7);
+        List<Destination> destinations = Destination.makeDestinationsEurope();
+        for (Joueur joueur : jeu.getJoueurs()) {
+            for (int i = 0; i < 5; i++) {
+                joueur.getDestinations().add(destinations.get(random.nextInt(destinations.size())));
+            }
+        }
+        CoutsDestinations couts = jeu.getCoutsDestinations();
+        couts.getCouts();
+        for (int k = 0; k < 60; k++) {
+            Route route = jeu.getRoutes().get(random.nextInt(jeu.getRoutes().size()));
+            int j = random.nextInt(jeu.getJoueurs().size() + 1);
+            route.setProprietaire(j < jeu.getJoueurs().size() ? jeu.getJoueurs().get(j) : null);
+
+            List<int[]> attendus = new CoutsDestinations(jeu).getCouts();
+            List<int[]> obtenus = couts.getCouts();
+            for (int i = 0; i < attendus.size(); i++) {
+                assertArrayEquals(attendus.get(i), obtenus.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package fr.umontpellier.iut.rails;
+
+import fr.umontpellier.iut.graphes.Parcours;
+import fr.umontpellier.iut.graphes.PlusCourtsChemins;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GrapheRoutesTest {
+    private Plateau plateau;
+
+    @BeforeEach
+    void init() {
+        plateau = Plateau.makePlateauEurope();
+    }
+
+    /**
+     * Renvoie les routes du plateau dont le nom commence par le préfixe indiqué
+     */
+    private List<Route> getRoutes(String prefixe) {
+        List<Route> res = new ArrayList<>();
+        for (Route route : plateau.getRoutes()) {
+            if (route.getNom().startsWith(prefixe)) {
+                res.add(route);
+            }
+        }
+        return res;
+    }
+
+    @Test
+    void testRoutesDoublesSontDeuxAretes() {
+        GrapheRoutes g = new GrapheRoutes(plateau.getVilles());
+        List<Route> ferries = getRoutes("Dieppe - London");
+        assertEquals(2, ferries.size());
+        int a1 = g.ajouterRoute(ferries.get(0));
+        int a2 = g.ajouterRoute(ferries.get(1));
+        assertNotEquals(a1, a2);
+        assertEquals(2, g.getGraphe().nbAretes());
+        assertSame(ferries.get(0), g.getRoute(a1));
+        assertSame(ferries.get(1), g.getRoute(a2));
+
+        // un aller-retour par les deux ferries
+        Parcours p = g.getGraphe().calculerPlusLongParcours();
+        assertEquals(4, p.getLongueur());
+        assertEquals(2, g.getRoutes(p).size());
+        assertTrue(g.getRoutes(p).containsAll(ferries));
+        assertFalse(g.getGraphe().estUnIsthme(g.getSommet(ferries.get(0).getVille1()),
+                g.getSommet(ferries.get(0).getVille2())));
+
+        g.retirerRoute(ferries.get(0));
+        assertEquals(1, g.getGraphe().nbAretes());
+        assertNull(g.getRoute(a1));
+        assertEquals(List.of(ferries.get(1)), g.plusLongueRoute());
+    }
+
+    @Test
+    void testIdentifiantsDesVilles() {
+        List<Ville> villes = plateau.getVilles();
+        for (int i = 0; i < villes.size(); i++) {
+            assertEquals(i, villes.get(i).getId());
+            assertEquals(i, Plateau.getIdVilleEurope(villes.get(i).getNom()));
+            if (i > 0) {
+                assertTrue(villes.get(i - 1).getNom().compareTo(villes.get(i).getNom()) < 0);
+            }
+        }
+        // les identifiants ne dépendent pas de l'instance du plateau
+        Destination d = new Destination("Brest", "Petrograd", 20);
+        assertEquals("Brest", villes.get(d.getIdVille1()).getNom());
+        assertEquals("Petrograd", villes.get(d.getIdVille2()).getNom());
+        assertEquals(-1, Plateau.getIdVilleEurope("Montpellier"));
+        assertEquals(-1, plateau.getIdVille("Montpellier"));
+        assertThrows(IllegalArgumentException.class, () -> new Destination("Montpellier", "Brest", 1));
+        assertThrows(IllegalArgumentException.class, () -> new Destination("Brest", "Montpellier", 1, plateau));
+    }
+
+    @Test
+    void testPlateauxEuropeIndependants() {
+        Plateau autre = Plateau.makePlateauEurope();
+        assertEquals(plateau.getVilles().size(), autre.getVilles().size());
+        assertEquals(plateau.getRoutes().size(), autre.getRoutes().size());
+        for (int i = 0; i < plateau.getRoutes().size(); i++) {
+            Route route = plateau.getRoutes().get(i);
+            Route copie = autre.getRoutes().get(i);
+            assertNotSame(route, copie);
+            assertEquals(route.getClass(), copie.getClass());
+            assertEquals(route.getNom(), copie.getNom());
+            assertEquals(route.toString(), copie.toString());
+            assertEquals(i, copie.getId());
+            assertSame(autre.getVilles().get(route.getVille1().getId()), copie.getVille1());
+            assertSame(autre.getVilles().get(route.getVille2().getId()), copie.getVille2());
+            assertTrue(autre.getRoutesIncidentes().get(copie.getVille1()).contains(copie));
+        }
+        // l'état d'une partie ne passe pas à une autre
+        plateau.getRoutes().get(0).setNom("modifiée");
+        assertNotEquals("modifiée", Plateau.makePlateauEurope().getRoutes().get(0).getNom());
+        assertNotSame(plateau.getVilles().get(0), autre.getVilles().get(0));
+    }
+
+    @Test
+    void testDestinationsResoluesSurLePlateau() {
+        List<Destination> destinations = Destination.makeDestinationsEurope(plateau);
+        destinations.addAll(Destination.makeDestinationsLonguesEurope(plateau));
+        for (Destination d : destinations) {
+            assertEquals(d.getVille1(), plateau.getVilles().get(d.getIdVille1()).getNom());
+            assertEquals(d.getVille2(), plateau.getVilles().get(d.getIdVille2()).getNom());
+        }
+    }
+
+    @Test
+    void testDistancesEurope() {
+        PlusCourtsChemins distances = Plateau.getDistancesEurope();
+        assertEquals(plateau.getVilles().size(), distances.nbSommets());
+        Destination d = new Destination("Paris", "Frankfurt", 5);
+        assertEquals(3, distances.distance(d.getIdVille1(), d.getIdVille2()));
+        Destination lisboaDanzig = new Destination("Lisboa", "Danzig", 20);
+        assertTrue(distances.distance(lisboaDanzig.getIdVille1(), lisboaDanzig.getIdVille2()) > 10);
+    }
+}
@@ -0,0 +1,96 @@
+package fr.umontpellier.iut.rails;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static fr.umontpellier.iut.rails.TestUtils.creerJeu;
+
+public class PaquetCartesWagonTest {
+
+    private static void verifierNombres(List<CouleurWagon> attendu, PaquetCartesWagon paquet) {
+        assertEquals(attendu, paquet);
+        for (CouleurWagon c : CouleurWagon.values()) {
+            assertEquals(Collections.frequency(attendu, c), paquet.compter(c));
+        }
+        assertEquals(CouleurWagon.compteur(attendu).get(CouleurWagon.GRIS), paquet.compterMeilleureCouleurSimple());
+    }
+
+    @Test
+    void testMemesOperationsQueArrayList() {
+        Random random = new Random(11);
+        List<CouleurWagon> cartes = CouleurWagon.getCouleursSimples();
+        cartes.add(CouleurWagon.LOCOMOTIVE);
+        CouleurWagon[] couleurs = cartes.toArray(new CouleurWagon[0]);
+        List<CouleurWagon> reference = new ArrayList<>();
+        PaquetCartesWagon paquet = new PaquetCartesWagon();
+        for (int k = 0; k < 2000; k++) {
+            int operation = random.nextInt(6);
+            CouleurWagon c = couleurs[random.nextInt(couleurs.length)];
+            if (operation <= 1) {
+                int i = random.nextInt(reference.size() + 1);
+                reference.add(i, c);
+                paquet.add(i, c);
+            } else if (operation == 2) {
+                reference.add(c);
+                paquet.add(c);
+            } else if (operation == 3 && !reference.isEmpty()) {
+                int i = random.nextInt(reference.size());
+                assertEquals(reference.remove(i), paquet.remove(i));
+            } else if (operation == 4 && !reference.isEmpty()) {
+                assertEquals(reference.remove(0), paquet.remove(0));
+            } else if (operation == 5) {
+                assertEquals(reference.remove(c), paquet.remove(c));
+            }
+            verifierNombres(reference, paquet);
+        }
+        Collections.sort(reference);
+        Collections.sort(paquet);
+        verifierNombres(reference, paquet);
+        paquet.clear();
+        verifierNombres(new ArrayList<>(), paquet);
+    }
+
+    @Test
+    void testMelangerConserveLesCartes() {
+        PaquetCartesWagon paquet = new PaquetCartesWagon();
+        for (CouleurWagon c : CouleurWagon.getCouleursSimples()) {
+            for (int i = 0; i < 12; i++) {
+                paquet.add(0, c);
+            }
+        }
+        List<CouleurWagon> avant = new ArrayList<>(paquet);
+        paquet.melanger(new Random(5));
+        assertNotEquals(avant, paquet);
+        List<CouleurWagon> apres = new ArrayList<>(paquet);
+        Collections.sort(avant);
+        Collections.sort(apres);
+        assertEquals(avant, apres);
+        assertEquals(12, paquet.compter(CouleurWagon.ROUGE));
+    }
+
+    @Test
+    void testTroisLocomotivesVisiblesSontDefaussees() {
+        IOJeu jeu = creerJeu(2);
+        List<CouleurWagon> visibles = jeu.getCartesWagonVisibles();
+        visibles.clear();
+        visibles.add(CouleurWagon.ROUGE);
+        visibles.add(CouleurWagon.LOCOMOTIVE);
+        visibles.add(CouleurWagon.LOCOMOTIVE);
+        visibles.add(CouleurWagon.BLEU);
+        List<CouleurWagon> pile = jeu.getPileCartesWagon();
+        pile.add(0, CouleurWagon.LOCOMOTIVE);
+        int nbDefausse = jeu.getDefausseCartesWagon().size();
+
+        jeu.remplirCartesWagonVisibles();
+        assertEquals(5, visibles.size());
+        assertTrue(Collections.frequency(visibles, CouleurWagon.LOCOMOTIVE) < 3);
+        // les 5 cartes (et éventuellement d'autres tirages à 3 locomotives) ont été défaussées
+        assertTrue(jeu.getDefausseCartesWagon().size() >= nbDefausse + 5);
+        assertTrue(jeu.getDefausseCartesWagon().size() % 5 == nbDefausse % 5);
+    }
+}
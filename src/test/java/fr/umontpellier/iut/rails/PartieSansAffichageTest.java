@@ -0,0 +1,44 @@
+package fr.umontpellier.iut.rails;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static fr.umontpellier.iut.rails.TestUtils.creerJeu;
+
+public class PartieSansAffichageTest {
+
+    @Test
+    void testPartiesAleatoiresCompletes() {
+        for (int partie = 0; partie < 20; partie++) {
+            // IOJeu : une lecture de l'entrée lèverait une exception au lieu de bloquer
+            IOJeu jeu = creerJeu(4);
+            List<Strategie> strategies = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                strategies.add(new StrategieAleatoire(100 * partie + i));
+            }
+            jeu.setStrategies(strategies);
+            jeu.setNbToursMax(1000);
+            jeu.run();
+
+            assertTrue(jeu.estSansAffichage());
+            int nbCartes = jeu.getPileCartesWagon().size() + jeu.getCartesWagonVisibles().size()
+                    + jeu.getDefausseCartesWagon().size();
+            boolean fini = jeu.getNbTours() >= 1000;
+            for (Joueur joueur : jeu.getJoueurs()) {
+                assertTrue(joueur.getNbWagons() >= 0);
+                assertTrue(joueur.getCartesWagonPosees().isEmpty());
+                nbCartes += joueur.getCartesWagon().size();
+                fini |= joueur.getNbWagons() <= 2;
+            }
+            assertTrue(fini);
+            assertEquals(110, nbCartes);
+            List<Integer> scores = jeu.calculerLesScores();
+            for (int i = 0; i < 4; i++) {
+                assertEquals(scores.get(i), jeu.getJoueurs().get(i).getScore());
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package fr.umontpellier.iut.rails;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static fr.umontpellier.iut.rails.TestUtils.creerJeu;
+import static fr.umontpellier.iut.rails.TestUtils.getRouteParNom;
+
+public class ProjectionScoresTest {
+    private IOJeu jeu;
+    private Joueur joueur1;
+    private Joueur joueur2;
+
+    @BeforeEach
+    void init() {
+        jeu = creerJeu(4);
+        joueur1 = jeu.getJoueurs().get(0);
+        joueur2 = jeu.getJoueurs().get(1);
+    }
+
+    /**
+     * Attend (au plus deux secondes) que la dernière demande de projection soit publiée
+     */
+    private void attendrePublication(ProjectionScores projection) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 2000;
+        while (projection.getNumeroPublie() != projection.getNumeroDemande()) {
+            assertTrue(System.currentTimeMillis() < limite, "la projection n'a pas été publiée");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void testProjectionPublieLaDerniereDemande() throws InterruptedException {
+        ProjectionScores projection = jeu.getProjectionScores();
+        assertTrue(projection.getScoresProvisoires().isEmpty());
+        joueur1.getDestinations().add(new Destination("Brest", "Frankfurt", 6));
+
+        // une rafale de demandes : seul l'état final compte
+        String[] noms = { "Brest - Paris", "Bruxelles - Paris(1)", "Bruxelles - Frankfurt" };
+        for (String nom : noms) {
+            getRouteParNom(jeu, nom).setProprietaire(joueur1);
+            projection.demander();
+        }
+        getRouteParNom(jeu, "Amsterdam - Bruxelles").setProprietaire(joueur2);
+        projection.demander();
+        attendrePublication(projection);
+
+        List<Object> scores = projection.getScoresProvisoires();
+        assertEquals(4, scores.size());
+        Map<?, ?> scoreJoueur1 = (Map<?, ?>) scores.get(0);
+        assertEquals("Guybrush", scoreJoueur1.get("nom"));
+        assertEquals(1, scoreJoueur1.get("destinationsRealisees"));
+        assertEquals(7, scoreJoueur1.get("plusLongueRoute"));
+        List<Integer> attendus = jeu.calculerLesScores();
+        for (int i = 0; i < 4; i++) {
+            assertEquals(attendus.get(i), ((Map<?, ?>) scores.get(i)).get("score"));
+        }
+        projection.arreter();
+    }
+}
@@ -0,0 +1,89 @@
+package fr.umontpellier.iut.rails;
+
+import fr.umontpellier.iut.graphes.Parcours;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static fr.umontpellier.iut.rails.TestUtils.creerJeu;
+import static fr.umontpellier.iut.rails.TestUtils.getRouteParNom;
+
+public class ReseauJoueurTest {
+    private IOJeu jeu;
+    private Joueur joueur1;
+    private Joueur joueur2;
+
+    @BeforeEach
+    void init() {
+        jeu = creerJeu(4);
+        joueur1 = jeu.getJoueurs().get(0);
+        joueur2 = jeu.getJoueurs().get(1);
+    }
+
+    @Test
+    void testReseauSuitLesChangementsDeProprietaire() {
+        ReseauJoueur reseau = joueur1.getReseau();
+        Destination brestFrankfurt = new Destination("Brest", "Frankfurt", 6);
+        assertFalse(reseau.estRealisee(brestFrankfurt));
+
+        getRouteParNom(jeu, "Brest - Paris").setProprietaire(joueur1);
+        getRouteParNom(jeu, "Bruxelles - Paris(1)").setProprietaire(joueur1);
+        getRouteParNom(jeu, "Bruxelles - Frankfurt").setProprietaire(joueur1);
+        assertTrue(reseau.estRealisee(brestFrankfurt));
+        assertEquals(8, reseau.getPointsRoutes());
+        assertEquals(7, reseau.longueurPlusLongueRoute());
+        int version = reseau.getVersion();
+
+        // la route change de main : le réseau de l'ancien propriétaire est coupé
+        getRouteParNom(jeu, "Bruxelles - Paris(1)").setProprietaire(joueur2);
+        assertFalse(reseau.estRealisee(brestFrankfurt));
+        assertEquals(6, reseau.getPointsRoutes());
+        assertNotEquals(version, reseau.getVersion());
+        assertTrue(joueur2.getReseau().relie(getRouteParNom(jeu, "Brest - Paris").getVille2(),
+                getRouteParNom(jeu, "Bruxelles - Frankfurt").getVille1()));
+    }
+
+    @Test
+    void testCalculerLesScores() {
+        getRouteParNom(jeu, "Brest - Paris").setProprietaire(joueur1);
+        getRouteParNom(jeu, "Bruxelles - Paris(1)").setProprietaire(joueur1);
+        getRouteParNom(jeu, "Bruxelles - Frankfurt").setProprietaire(joueur1);
+        getRouteParNom(jeu, "Amsterdam - Bruxelles").setProprietaire(joueur2);
+        joueur1.getDestinations().add(new Destination("Brest", "Frankfurt", 6));
+        joueur1.getDestinations().add(new Destination("Paris", "Amsterdam", 5));
+
+        // routes 8 + gares 12 + destinations 6 - 5 + plus long chemin 10
+        assertEquals(List.of(31, 13, 12, 12), jeu.calculerLesScores());
+        assertEquals(31, joueur1.getScore());
+        // le calcul ne dépend que de l'état de la partie
+        assertEquals(List.of(31, 13, 12, 12), jeu.calculerLesScores());
+    }
+
+    @Test
+    void testBonusPartageEnCasDEgalite() {
+        getRouteParNom(jeu, "Brest - Paris").setProprietaire(joueur1);
+        getRouteParNom(jeu, "Berlin - Frankfurt(1)").setProprietaire(joueur2);
+        assertEquals(List.of(26, 26, 12, 12), jeu.calculerLesScores());
+    }
+
+    @Test
+    void testPlusLongParcoursRecalculeSeulementApresChangement() {
+        getRouteParNom(jeu, "Brest - Paris").setProprietaire(joueur1);
+        getRouteParNom(jeu, "Berlin - Frankfurt(1)").setProprietaire(joueur2);
+        assertArrayEquals(new int[] { 3, 3, 0, 0 }, jeu.calculerPlusLonguesRoutes());
+        ReseauJoueur reseau1 = joueur1.getReseau();
+        ReseauJoueur reseau2 = joueur2.getReseau();
+        assertTrue(reseau1.plusLongParcoursEstAJour());
+        Parcours avant = reseau1.getPlusLongParcours();
+
+        // une capture du joueur 2 ne touche pas au résultat du joueur 1
+        getRouteParNom(jeu, "Berlin - Frankfurt(2)").setProprietaire(joueur2);
+        assertTrue(reseau1.plusLongParcoursEstAJour());
+        assertFalse(reseau2.plusLongParcoursEstAJour());
+        assertArrayEquals(new int[] { 3, 6, 0, 0 }, jeu.calculerPlusLonguesRoutes());
+        assertSame(avant, reseau1.getPlusLongParcours());
+        assertEquals(List.of(getRouteParNom(jeu, "Brest - Paris")), reseau1.getGrapheRoutes().getRoutes(avant));
+    }
+}
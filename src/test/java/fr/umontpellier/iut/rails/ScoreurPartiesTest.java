@@ -0,0 +1,48 @@
+package fr.umontpellier.iut.rails;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static fr.umontpellier.iut.rails.TestUtils.creerJeu;
+import static fr.umontpellier.iut.rails.TestUtils.getRouteParNom;
+import static fr.umontpellier.iut.rails.TestUtils.getVilleParNom;
+
+public class ScoreurPartiesTest {
+
+    @Test
+    void testMemesScoresQueLeJeu() {
+        List<EtatFinal> parties = new ArrayList<>();
+        List<List<Integer>> attendus = new ArrayList<>();
+        for (int k = 0; k < 3; k++) {
+            IOJeu jeu = creerJeu(4);
+            Joueur joueur1 = jeu.getJoueurs().get(0);
+            Joueur joueur2 = jeu.getJoueurs().get(1);
+            getRouteParNom(jeu, "Brest - Paris").setProprietaire(joueur1);
+            getRouteParNom(jeu, "Bruxelles - Frankfurt").setProprietaire(joueur1);
+            getRouteParNom(jeu, "Bruxelles - Paris(1)").setProprietaire(joueur2);
+            if (k > 0) {
+                getVilleParNom(jeu, "Paris").setProprietaire(joueur1);
+            }
+            if (k > 1) {
+                getRouteParNom(jeu, "Berlin - Frankfurt(1)").setProprietaire(joueur2);
+                getRouteParNom(jeu, "Berlin - Frankfurt(2)").setProprietaire(joueur2);
+            }
+            joueur1.getDestinations().add(new Destination("Brest", "Frankfurt", 6));
+            joueur2.getDestinations().add(new Destination("Paris", "Berlin", 9));
+            parties.add(EtatFinal.depuis(jeu));
+            attendus.add(jeu.calculerLesScores());
+        }
+
+        ScoreurParties scoreur = new ScoreurParties(Plateau.makePlateauEurope());
+        List<int[]> scores = scoreur.calculerScores(parties);
+        assertEquals(3, scores.size());
+        for (int k = 0; k < 3; k++) {
+            assertArrayEquals(attendus.get(k).stream().mapToInt(Integer::intValue).toArray(), scores.get(k));
+        }
+        // la station de Paris rapporte la destination Brest - Frankfurt au joueur 1
+        assertEquals(scores.get(0)[0] + 12, scores.get(1)[0]);
+    }
+}
@@ -6,6 +6,55 @@ import java.util.Collections;
 import java.util.List;
 
 public class TestUtils {
+    /**
+     * Noms des joueurs des parties de test
+     */
+    private static final String[] NOMS = { "Guybrush", "Largo", "LeChuck", "Elaine" };
+
+    /**
+     * Crée une partie de test dont les entrées sont lues dans une liste d'instructions
+     *
+     * @param nbJoueurs le nombre de joueurs (au plus 4)
+     * @return la partie
+     */
+    public static IOJeu creerJeu(int nbJoueurs) {
+        return new IOJeu(Arrays.copyOf(NOMS, nbJoueurs));
+    }
+
+    /**
+     * Renvoie la route du jeu dont le nom est passé en argument
+     *
+     * @param jeu le jeu
+     * @param nom le nom de la route
+     * @return la route du jeu dont le nom est passé en argument (ou null si aucune
+     *         route ne correspond)
+     */
+    public static Route getRouteParNom(Jeu jeu, String nom) {
+        for (Route route : jeu.getRoutes()) {
+            if (route.getNom().equals(nom)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Renvoie la ville du jeu dont le nom est passé en argument
+     *
+     * @param jeu le jeu
+     * @param nom le nom de la ville
+     * @return la ville du jeu dont le nom est passé en argument (ou null si aucune
+     *         ville ne correspond)
+     */
+    public static Ville getVilleParNom(Jeu jeu, String nom) {
+        for (Ville ville : jeu.getVilles()) {
+            if (ville.getNom().equals(nom)) {
+                return ville;
+            }
+        }
+        return null;
+    }
+
     /**
      * Renvoie un attribut d'un objet à partir de son nom.
      * La méthode cherche s'il existe un champ déclaré dans la classe de l'objet et
@@ -0,0 +1,92 @@
+package fr.umontpellier.iut.rails;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournoiTest {
+
+    private static Tournoi tournoiAleatoire() {
+        List<LongFunction<StrategieAleatoire>> fabriques = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            fabriques.add(StrategieAleatoire::new);
+        }
+        return new Tournoi(List.of("Guybrush", "Largo", "LeChuck", "Elaine"), fabriques);
+    }
+
+    @Test
+    void testMemeGraineMemePartie() {
+        String[] noms = { "Guybrush", "Largo" };
+        Jeu jeu1 = new Jeu(noms, 42);
+        Jeu jeu2 = new Jeu(noms, 42);
+        assertEquals(jeu1.getPileCartesWagon(), jeu2.getPileCartesWagon());
+        assertEquals(jeu1.getCartesWagonVisibles(), jeu2.getCartesWagonVisibles());
+        assertEquals(jeu1.getPileDestinations().toString(), jeu2.getPileDestinations().toString());
+        for (int i = 0; i < noms.length; i++) {
+            assertEquals(jeu1.getJoueurs().get(i).getCouleur(), jeu2.getJoueurs().get(i).getCouleur());
+            assertEquals(jeu1.getJoueurs().get(i).getCartesWagon(), jeu2.getJoueurs().get(i).getCartesWagon());
+        }
+    }
+
+    @Test
+    void testBilanTournoi() throws InterruptedException {
+        Tournoi.Bilan bilan = tournoiAleatoire().jouer(7, 40, 4);
+
+        assertEquals(40, bilan.getNbParties());
+        long victoires = 0;
+        for (int k = 0; k < 4; k++) {
+            victoires += bilan.getNbVictoires(k);
+            assertEquals(40, Arrays.stream(bilan.getHistogrammeScores(k)).sum());
+            assertTrue(bilan.getNbRoutesMoyen(k) > 0);
+            assertTrue(bilan.getNbGaresMoyen(k) >= 0 && bilan.getNbGaresMoyen(k) <= 3);
+            assertTrue(bilan.getEcartTypeScore(k) >= 0);
+        }
+        // au moins un gagnant par partie (plusieurs en cas d'égalité)
+        assertTrue(victoires >= 40);
+    }
+
+    @Test
+    void testTournoiReproductible() throws InterruptedException {
+        Tournoi.Bilan bilan1 = tournoiAleatoire().jouer(123, 24, 1);
+        Tournoi.Bilan bilan2 = tournoiAleatoire().jouer(123, 24, 3);
+
+        for (int k = 0; k < 4; k++) {
+            assertEquals(bilan1.getNbVictoires(k), bilan2.getNbVictoires(k));
+            assertEquals(bilan1.getScoreMoyen(k), bilan2.getScoreMoyen(k));
+            assertEquals(bilan1.getNbRoutesMoyen(k), bilan2.getNbRoutesMoyen(k));
+            assertEquals(bilan1.getNbGaresMoyen(k), bilan2.getNbGaresMoyen(k));
+            assertArrayEquals(bilan1.getHistogrammeScores(k), bilan2.getHistogrammeScores(k));
+        }
+    }
+
+    @Test
+    void testErreurDansUnePartie() {
+        Strategie fautive = new Strategie() {
+            @Override
+            public Coup choisirCoup(Joueur joueur, List<Coup> coups) {
+                throw new AssertionError("stratégie fautive");
+            }
+
+            @Override
+            public String choisir(Joueur joueur, String instruction, List<String> choix, boolean peutPasser) {
+                return choix.get(0);
+            }
+        };
+        List<LongFunction<Strategie>> fabriques = List.of(StrategieAleatoire::new, graine -> fautive);
+        Tournoi tournoi = new Tournoi(List.of("Guybrush", "Largo"), fabriques);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> tournoi.jouer(0, 8, 2));
+        assertInstanceOf(AssertionError.class, e.getCause());
+    }
+
+    @Test
+    void testNomsEtStrategiesIncoherents() {
+        List<LongFunction<StrategieAleatoire>> fabriques = List.of(StrategieAleatoire::new);
+        assertThrows(IllegalArgumentException.class, () -> new Tournoi(List.of("Guybrush", "Largo"), fabriques));
+    }
+}